@@ -2,10 +2,14 @@ package io.plyschik.springbootblog;
 
 import io.plyschik.springbootblog.dto.Alert;
 import io.plyschik.springbootblog.dto.ValidationErrorApiResponse;
+import io.plyschik.springbootblog.exception.PageSectionTimeoutException;
+import io.plyschik.springbootblog.exception.PasswordHashingRejectedException;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.QueryException;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -15,6 +19,8 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
@@ -64,6 +70,28 @@ public class GlobalExceptionHandler {
         return new ModelAndView("redirect:/");
     }
 
+    @ExceptionHandler(PasswordHashingRejectedException.class)
+    public ModelAndView handlePasswordHashingRejectedException(RedirectAttributes redirectAttributes) {
+        redirectAttributes.addFlashAttribute(
+            "alert",
+            new Alert("danger", messageSource.getMessage(
+                "message.server_is_busy_try_again",
+                null,
+                LocaleContextHolder.getLocale()
+            ))
+        );
+
+        return new ModelAndView("redirect:/");
+    }
+
+    @ExceptionHandler(PageSectionTimeoutException.class)
+    public ModelAndView handlePageSectionTimeoutException(HttpServletResponse response) {
+        // Redirecting to "/" would loop, the index page is built from the same sections.
+        response.setHeader(HttpHeaders.RETRY_AFTER, "5");
+
+        return new ModelAndView("blog/unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     private static <T> Predicate<T> distinctByKey(Function<? super T, ?> keyExtractor) {
         Set<Object> seen = ConcurrentHashMap.newKeySet();
 
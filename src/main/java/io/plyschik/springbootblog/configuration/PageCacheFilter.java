@@ -0,0 +1,192 @@
+package io.plyschik.springbootblog.configuration;
+
+import io.plyschik.springbootblog.service.PageCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.LocaleResolver;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+@Component
+public class PageCacheFilter extends OncePerRequestFilter {
+    private static final String CACHE_STATUS_HEADER = "X-Page-Cache";
+    // Only Thymeleaf pages declare PageCache dependencies; everything else would just be buffered for nothing.
+    private static final List<String> EXCLUDED_PATHS = List.of(
+        "/api/**",
+        "/assets/**",
+        "/auth/**",
+        "/dashboard/**",
+        "/*.*"
+    );
+
+    private final PageCache pageCache;
+    private final LocaleResolver localeResolver;
+    private final boolean enabled;
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    public PageCacheFilter(
+        PageCache pageCache,
+        LocaleResolver localeResolver,
+        @Value("${blog.page-cache.enabled:true}") boolean enabled
+    ) {
+        this.pageCache = pageCache;
+        this.localeResolver = localeResolver;
+        this.enabled = enabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (isAsyncDispatch(request)) {
+            // Only the requests this filter wrapped need their buffered body flushed on the final dispatch.
+            return request.getAttribute(PageCache.DEPENDENCIES_ATTRIBUTE) == null;
+        }
+
+        return !enabled
+            || !HttpMethod.GET.matches(request.getMethod())
+            || isExcluded(request)
+            || request.getParameter("lang") != null
+            || request.getSession(false) != null
+            || !isAnonymous(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Override
+    protected void doFilterInternal(
+        HttpServletRequest request,
+        HttpServletResponse response,
+        FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = getKey(request);
+        ContentCachingResponseWrapper responseWrapper = WebUtils.getNativeResponse(
+            response,
+            ContentCachingResponseWrapper.class
+        );
+
+        if (isAsyncDispatch(request)) {
+            if (responseWrapper == null) {
+                filterChain.doFilter(request, response);
+
+                return;
+            }
+        } else {
+            Optional<PageCache.Page> page = pageCache.get(key);
+
+            if (page.isPresent()) {
+                writePage(request, response, page.get());
+
+                return;
+            }
+
+            request.setAttribute(PageCache.DEPENDENCIES_ATTRIBUTE, new HashSet<String>());
+            responseWrapper = new ContentCachingResponseWrapper(response);
+            responseWrapper.setHeader(CACHE_STATUS_HEADER, "MISS");
+        }
+
+        filterChain.doFilter(request, responseWrapper);
+
+        if (isAsyncStarted(request)) {
+            // The handler is still writing; the body is cached and flushed on the async dispatch instead.
+            return;
+        }
+
+        @SuppressWarnings("unchecked")
+        Set<String> dependencies = (Set<String>) request.getAttribute(PageCache.DEPENDENCIES_ATTRIBUTE);
+        boolean isCacheable = !dependencies.isEmpty()
+            && responseWrapper.getStatus() == HttpServletResponse.SC_OK
+            && responseWrapper.getContentType() != null
+            && !responseWrapper.containsHeader(HttpHeaders.SET_COOKIE)
+            && request.getSession(false) == null;
+
+        if (isCacheable) {
+            pageCache.put(
+                key,
+                responseWrapper.getContentType(),
+                responseWrapper.getHeader(HttpHeaders.ETAG),
+                getLastModified(responseWrapper),
+                responseWrapper.getContentAsByteArray(),
+                dependencies
+            );
+        }
+
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private boolean isExcluded(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+
+        return EXCLUDED_PATHS.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    private String getKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+
+        return localeResolver.resolveLocale(request).toLanguageTag()
+            + " "
+            + request.getRequestURI()
+            + (query != null ? "?" + query : "");
+    }
+
+    private long getLastModified(HttpServletResponse response) {
+        String lastModified = response.getHeader(HttpHeaders.LAST_MODIFIED);
+        if (lastModified == null) {
+            return -1;
+        }
+
+        return ZonedDateTime.parse(lastModified, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+    }
+
+    private void writePage(HttpServletRequest request, HttpServletResponse response, PageCache.Page page)
+        throws IOException {
+        response.setHeader(CACHE_STATUS_HEADER, "HIT");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(page.getETag(), page.getLastModified())) {
+            return;
+        }
+
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        byte[] content = page.getCompressedContent();
+
+        if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        } else {
+            content = PageCache.decompress(content);
+        }
+
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(page.getContentType());
+        response.setContentLength(content.length);
+        response.getOutputStream().write(content);
+    }
+
+    private static boolean isAnonymous(Authentication authentication) {
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken;
+    }
+}
@@ -0,0 +1,28 @@
+package io.plyschik.springbootblog.configuration;
+
+import io.plyschik.springbootblog.security.BoundedPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class PasswordEncoderConfiguration {
+    @Bean(destroyMethod = "shutdown")
+    public static BoundedPasswordEncoder passwordEncoder(
+        @Value("${blog.password-hashing.strength:10}") int strength,
+        @Value("${blog.password-hashing.calibrate:false}") boolean calibrate,
+        @Value("${blog.password-hashing.target-hash-time:PT0.25S}") Duration targetHashTime,
+        @Value("${blog.password-hashing.pool-size:2}") int poolSize,
+        @Value("${blog.password-hashing.queue-capacity:16}") int queueCapacity,
+        @Value("${blog.password-hashing.timeout:PT1S}") Duration timeout
+    ) {
+        return new BoundedPasswordEncoder(
+            calibrate ? BoundedPasswordEncoder.calibrate(targetHashTime) : strength,
+            poolSize,
+            queueCapacity,
+            timeout
+        );
+    }
+}
@@ -1,6 +1,7 @@
 package io.plyschik.springbootblog.configuration;
 
 import io.plyschik.springbootblog.security.ApplicationPermissionEvaluator;
+import io.plyschik.springbootblog.security.BoundedPasswordEncoder;
 import io.plyschik.springbootblog.service.UserDetailsServiceImplementation;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -13,8 +14,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.access.expression.DefaultWebSecurityExpressionHandler;
 
 @Configuration
@@ -27,6 +26,9 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
     @Autowired
     private ApplicationPermissionEvaluator applicationPermissionEvaluator;
 
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
     @Value("${security.remember-me.key}")
     private String rememberMeKey;
 
@@ -70,15 +72,10 @@ public class SecurityConfiguration extends WebSecurityConfigurerAdapter {
         web.expressionHandler(expressionHandler);
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
     @Bean
     public DaoAuthenticationProvider authenticationProvider() {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
         authenticationProvider.setUserDetailsService(userDetailsService);
 
         return authenticationProvider;
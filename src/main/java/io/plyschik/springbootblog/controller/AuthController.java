@@ -20,7 +20,6 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
-import javax.mail.MessagingException;
 import javax.validation.Valid;
 
 @Controller
@@ -57,17 +56,6 @@ public class AuthController {
                 )
             );
 
-            return new ModelAndView("auth/signup");
-        } catch (MessagingException exception) {
-            redirectAttributes.addFlashAttribute("alert", new Alert(
-                "danger",
-                messageSource.getMessage(
-                    "message.something_went_wrong_try_again",
-                    null,
-                    LocaleContextHolder.getLocale()
-                )
-            ));
-
             return new ModelAndView("auth/signup");
         }
 
@@ -188,17 +176,6 @@ public class AuthController {
                 )
             );
 
-            return new ModelAndView("redirect:/auth/forgot-password");
-        } catch (MessagingException exception) {
-            redirectAttributes.addFlashAttribute("alert", new Alert(
-                "danger",
-                messageSource.getMessage(
-                    "message.something_went_wrong_try_again",
-                    null,
-                    LocaleContextHolder.getLocale()
-                )
-            ));
-
             return new ModelAndView("redirect:/auth/forgot-password");
         }
     }
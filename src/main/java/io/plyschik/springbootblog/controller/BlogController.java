@@ -1,9 +1,9 @@
 package io.plyschik.springbootblog.controller;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.plyschik.springbootblog.dto.Alert;
 import io.plyschik.springbootblog.dto.CategoryWithPostsCount;
+import io.plyschik.springbootblog.dto.CursorPage;
+import io.plyschik.springbootblog.dto.PostSummary;
 import io.plyschik.springbootblog.dto.YearArchiveEntry;
 import io.plyschik.springbootblog.entity.Category;
 import io.plyschik.springbootblog.entity.Post;
@@ -14,13 +14,15 @@ import io.plyschik.springbootblog.exception.PostNotFoundException;
 import io.plyschik.springbootblog.exception.TagNotFoundException;
 import io.plyschik.springbootblog.exception.UserNotFoundException;
 import io.plyschik.springbootblog.service.CategoryService;
+import io.plyschik.springbootblog.service.CommentsWidgetMessages;
+import io.plyschik.springbootblog.service.PageCache;
+import io.plyschik.springbootblog.service.PageSectionLoader;
 import io.plyschik.springbootblog.service.PostService;
 import io.plyschik.springbootblog.service.TagService;
 import io.plyschik.springbootblog.service.UserService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Controller;
@@ -28,220 +30,281 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.ModelAndView;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.ZoneId;
 import java.time.temporal.TemporalAdjusters;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
 class BlogController {
+    private static final int PAGE_SIZE = 5;
+    private static final int NUMBERED_PAGES_LIMIT = 5;
+
     private final MessageSource messageSource;
-    private final ObjectMapper objectMapper;
     private final UserService userService;
     private final PostService postService;
     private final CategoryService categoryService;
+    private final CommentsWidgetMessages commentsWidgetMessages;
     private final TagService tagService;
+    private final PageSectionLoader pageSectionLoader;
+    private final PageCache pageCache;
 
     @GetMapping("/")
-    public ModelAndView index(@RequestParam(required = false, defaultValue = "0") int page) {
-        Page<Post> posts = postService.getPostsWithAuthorCategoryAndTags(
-            PageRequest.of(page, 5, Sort.by(Sort.Order.desc("id")))
+    public ModelAndView index(
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Long after,
+        WebRequest webRequest
+    ) {
+        if (isBeyondNumberedPagesLimit(page)) {
+            return redirectToFirstPage();
+        }
+
+        String[] dependencies = {PageCache.postLists(), PageCache.sidebar()};
+        if (ConditionalGet.isNotModified(webRequest, pageCache.getLastModified(dependencies))) {
+            return null;
+        }
+
+        CompletableFuture<CursorPage<PostSummary>> posts = pageSectionLoader.load(() -> page != null
+            ? CursorPage.fromPage(
+                postService.getPostsWithAuthorCategoryAndTags(numberedPage(page)),
+                PostSummary::getId
+            )
+            : postService.getPostsWithAuthorCategoryAndTags(before, after, PAGE_SIZE)
         );
-        List<CategoryWithPostsCount> categories = categoryService.getTop5CategoriesWithPostsCount();
-        List<YearArchiveEntry> archive = postService.getPostsArchive();
+        CompletableFuture<List<CategoryWithPostsCount>> categories = pageSectionLoader.load(
+            categoryService::getTop5CategoriesWithPostsCount
+        );
+        CompletableFuture<List<YearArchiveEntry>> archive = pageSectionLoader.load(postService::getPostsArchive);
+
+        PageCache.dependsOn(dependencies);
 
         return new ModelAndView("blog/index")
-            .addObject("posts", posts)
-            .addObject("categories", categories)
-            .addObject("archive", archive);
+            .addObject("posts", pageSectionLoader.join(posts))
+            .addObject("categories", pageSectionLoader.join(categories))
+            .addObject("archive", pageSectionLoader.join(archive));
     }
 
     @GetMapping("/posts/{id:^[1-9][0-9]*$}")
-    public ModelAndView singlePost(@PathVariable long id) throws JsonProcessingException {
-        Post post = postService.getPostWithAuthorCategoryAndTags(id);
-        List<CategoryWithPostsCount> categories = categoryService.getTop5CategoriesWithPostsCount();
-        List<YearArchiveEntry> archive = postService.getPostsArchive();
-        Map<String, String> i18n = new HashMap<>() {{
-            put("loading", messageSource.getMessage(
-                "message.comments.loading",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("only_authenticated_users_can_create_comments", messageSource.getMessage(
-                "message.only_authenticated_users_can_create_comments",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("empty_list", messageSource.getMessage(
-                "message.comments.empty_list",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("comments", messageSource.getMessage(
-                "header.comments",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("comment", messageSource.getMessage(
-                "label.comment",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("create", messageSource.getMessage(
-                "label.create",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("comment_edit", messageSource.getMessage(
-                "header.comment_edit",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("update", messageSource.getMessage(
-                "label.update",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("cancel", messageSource.getMessage(
-                "label.cancel",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("confirmation", messageSource.getMessage(
-                "label.confirmation",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("delete_message", messageSource.getMessage(
-                "header.comment.delete",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("confirm", messageSource.getMessage(
-                "label.confirm",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("page", messageSource.getMessage(
-                "label.pagination.page",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("of", messageSource.getMessage(
-                "label.pagination.of",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("edit", messageSource.getMessage(
-                "label.edit",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-            put("delete", messageSource.getMessage(
-                "label.delete",
-                null,
-                LocaleContextHolder.getLocale()
-            ));
-        }};
+    public ModelAndView singlePost(@PathVariable long id, WebRequest webRequest) {
+        String[] dependencies = {PageCache.postLists(), PageCache.sidebar()};
+        Optional<Instant> postUpdatedAt = postService.getPublishedPostUpdatedAt(id)
+            .map(updatedAt -> updatedAt.atZone(ZoneId.systemDefault()).toInstant());
+        if (postUpdatedAt.isPresent()) {
+            Instant lastModified = pageCache.getLastModified(dependencies);
+            if (postUpdatedAt.get().isAfter(lastModified)) {
+                lastModified = postUpdatedAt.get();
+            }
+
+            if (ConditionalGet.isNotModified(webRequest, lastModified)) {
+                return null;
+            }
+        }
+
+        CompletableFuture<Post> post = pageSectionLoader.load(() -> postService.getPostWithAuthorCategoryAndTags(id));
+        CompletableFuture<List<CategoryWithPostsCount>> categories = pageSectionLoader.load(
+            categoryService::getTop5CategoriesWithPostsCount
+        );
+        CompletableFuture<List<YearArchiveEntry>> archive = pageSectionLoader.load(postService::getPostsArchive);
+
+        Post loadedPost = pageSectionLoader.join(post);
+        PageCache.dependsOn(dependencies);
+        PageCache.dependsOn(PageCache.post(id));
+        loadedPost.getTags().forEach(tag -> PageCache.dependsOn(PageCache.tag(tag.getId())));
+
+        if (loadedPost.getCategory() != null) {
+            PageCache.dependsOn(PageCache.category(loadedPost.getCategory().getId()));
+        }
 
         return new ModelAndView("blog/single")
-            .addObject("post", post)
-            .addObject("categories", categories)
-            .addObject("archive", archive)
-            .addObject("i18n", objectMapper.writeValueAsString(i18n));
+            .addObject("post", loadedPost)
+            .addObject("categories", pageSectionLoader.join(categories))
+            .addObject("archive", pageSectionLoader.join(archive))
+            .addObject("i18n", commentsWidgetMessages.getJson(LocaleContextHolder.getLocale()));
     }
 
     @GetMapping("/authors/{id:^[1-9][0-9]*$}/posts")
     public ModelAndView postsFromAuthor(
         @PathVariable long id,
-        @RequestParam(required = false, defaultValue = "0") int page
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Long after,
+        WebRequest webRequest
     ) {
-        User author = userService.getUserById(id);
-        Page<Post> posts = postService.getPostsWithAuthorCategoryAndTagsByUserId(
-            id,
-            PageRequest.of(page, 5, Sort.by(Sort.Order.desc("id")))
+        if (isBeyondNumberedPagesLimit(page)) {
+            return redirectToFirstPage();
+        }
+
+        String[] dependencies = {PageCache.postLists(), PageCache.sidebar()};
+        if (ConditionalGet.isNotModified(webRequest, pageCache.getLastModified(dependencies))) {
+            return null;
+        }
+
+        CompletableFuture<User> author = pageSectionLoader.load(() -> userService.getUserById(id));
+        CompletableFuture<CursorPage<PostSummary>> posts = pageSectionLoader.load(() -> page != null
+            ? CursorPage.fromPage(
+                postService.getPostsWithAuthorCategoryAndTagsByUserId(id, numberedPage(page)),
+                PostSummary::getId
+            )
+            : postService.getPostsWithAuthorCategoryAndTagsByUserId(id, before, after, PAGE_SIZE)
         );
-        List<CategoryWithPostsCount> categories = categoryService.getTop5CategoriesWithPostsCount();
-        List<YearArchiveEntry> archive = postService.getPostsArchive();
+        CompletableFuture<List<CategoryWithPostsCount>> categories = pageSectionLoader.load(
+            categoryService::getTop5CategoriesWithPostsCount
+        );
+        CompletableFuture<List<YearArchiveEntry>> archive = pageSectionLoader.load(postService::getPostsArchive);
+
+        PageCache.dependsOn(dependencies);
 
         return new ModelAndView("blog/posts_by_author")
-            .addObject("author", author)
-            .addObject("posts", posts)
-            .addObject("categories", categories)
-            .addObject("archive", archive);
+            .addObject("author", pageSectionLoader.join(author))
+            .addObject("posts", pageSectionLoader.join(posts))
+            .addObject("categories", pageSectionLoader.join(categories))
+            .addObject("archive", pageSectionLoader.join(archive));
     }
 
     @GetMapping("/categories/{id:^[1-9][0-9]*$}/posts")
     public ModelAndView postsFromCategory(
         @PathVariable long id,
-        @RequestParam(required = false, defaultValue = "0") int page
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Long after,
+        WebRequest webRequest
     ) {
-        Category category = categoryService.getCategoryById(id);
-        Page<Post> posts = postService.getPostsWithAuthorCategoryAndTagsByCategoryId(
-            id,
-            PageRequest.of(page, 5, Sort.by(Sort.Order.desc("id")))
+        if (isBeyondNumberedPagesLimit(page)) {
+            return redirectToFirstPage();
+        }
+
+        String[] dependencies = {PageCache.postLists(), PageCache.category(id), PageCache.sidebar()};
+        if (ConditionalGet.isNotModified(webRequest, pageCache.getLastModified(dependencies))) {
+            return null;
+        }
+
+        CompletableFuture<Category> category = pageSectionLoader.load(() -> categoryService.getCategoryById(id));
+        CompletableFuture<CursorPage<PostSummary>> posts = pageSectionLoader.load(() -> page != null
+            ? CursorPage.fromPage(
+                postService.getPostsWithAuthorCategoryAndTagsByCategoryId(id, numberedPage(page)),
+                PostSummary::getId
+            )
+            : postService.getPostsWithAuthorCategoryAndTagsByCategoryId(id, before, after, PAGE_SIZE)
+        );
+        CompletableFuture<List<CategoryWithPostsCount>> categories = pageSectionLoader.load(
+            categoryService::getTop5CategoriesWithPostsCount
         );
-        List<CategoryWithPostsCount> categories = categoryService.getTop5CategoriesWithPostsCount();
-        List<YearArchiveEntry> archive = postService.getPostsArchive();
+        CompletableFuture<List<YearArchiveEntry>> archive = pageSectionLoader.load(postService::getPostsArchive);
+
+        PageCache.dependsOn(dependencies);
 
         return new ModelAndView("blog/posts_by_category")
-            .addObject("category", category)
-            .addObject("posts", posts)
-            .addObject("categories", categories)
-            .addObject("archive", archive);
+            .addObject("category", pageSectionLoader.join(category))
+            .addObject("posts", pageSectionLoader.join(posts))
+            .addObject("categories", pageSectionLoader.join(categories))
+            .addObject("archive", pageSectionLoader.join(archive));
     }
 
     @GetMapping("/tags/{id:^[1-9][0-9]*$}/posts")
     public ModelAndView postsFromTag(
         @PathVariable long id,
-        @RequestParam(required = false, defaultValue = "0") int page
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Long after,
+        WebRequest webRequest
     ) {
-        Tag tag = tagService.getTagById(id);
-        Page<Post> posts = postService.getPostsWithAuthorCategoryAndTagsByTagId(
-            id,
-            PageRequest.of(page, 5, Sort.by(Sort.Order.desc("id")))
+        if (isBeyondNumberedPagesLimit(page)) {
+            return redirectToFirstPage();
+        }
+
+        String[] dependencies = {PageCache.postLists(), PageCache.tag(id), PageCache.sidebar()};
+        if (ConditionalGet.isNotModified(webRequest, pageCache.getLastModified(dependencies))) {
+            return null;
+        }
+
+        CompletableFuture<Tag> tag = pageSectionLoader.load(() -> tagService.getTagById(id));
+        CompletableFuture<CursorPage<PostSummary>> posts = pageSectionLoader.load(() -> page != null
+            ? CursorPage.fromPage(
+                postService.getPostsWithAuthorCategoryAndTagsByTagId(id, numberedPage(page)),
+                PostSummary::getId
+            )
+            : postService.getPostsWithAuthorCategoryAndTagsByTagId(id, before, after, PAGE_SIZE)
+        );
+        CompletableFuture<List<CategoryWithPostsCount>> categories = pageSectionLoader.load(
+            categoryService::getTop5CategoriesWithPostsCount
         );
-        List<CategoryWithPostsCount> categories = categoryService.getTop5CategoriesWithPostsCount();
-        List<YearArchiveEntry> archive = postService.getPostsArchive();
+        CompletableFuture<List<YearArchiveEntry>> archive = pageSectionLoader.load(postService::getPostsArchive);
+
+        PageCache.dependsOn(dependencies);
 
         return new ModelAndView("blog/posts_by_tag")
-            .addObject("tag", tag)
-            .addObject("posts", posts)
-            .addObject("categories", categories)
-            .addObject("archive", archive);
+            .addObject("tag", pageSectionLoader.join(tag))
+            .addObject("posts", pageSectionLoader.join(posts))
+            .addObject("categories", pageSectionLoader.join(categories))
+            .addObject("archive", pageSectionLoader.join(archive));
     }
 
     @GetMapping("/archive/{year:^[12][0-9]{3}$}/{month:^[2-9]|1[0-2]?$}")
     public ModelAndView postsFromDataRange(
         @PathVariable int year,
         @PathVariable int month,
-        @RequestParam(required = false, defaultValue = "0") int page
+        @RequestParam(required = false) Integer page,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Long after,
+        WebRequest webRequest
     ) {
+        if (isBeyondNumberedPagesLimit(page)) {
+            return redirectToFirstPage();
+        }
+
+        String[] dependencies = {PageCache.postLists(), PageCache.sidebar()};
+        if (ConditionalGet.isNotModified(webRequest, pageCache.getLastModified(dependencies))) {
+            return null;
+        }
+
         LocalDate initialDate = LocalDate.of(year, month, 1);
         LocalDateTime startDate = initialDate.with(TemporalAdjusters.firstDayOfMonth()).atTime(LocalTime.MIN);
         LocalDateTime endDate = initialDate.with(TemporalAdjusters.lastDayOfMonth()).atTime(LocalTime.MAX);
 
-        Page<Post> posts = postService.getPostsWithAuthorCategoryAndTagsFromDateRange(
-            startDate,
-            endDate,
-            PageRequest.of(page, 5, Sort.by(Sort.Order.desc("id")))
+        CompletableFuture<CursorPage<PostSummary>> posts = pageSectionLoader.load(() -> page != null
+            ? CursorPage.fromPage(
+                postService.getPostsWithAuthorCategoryAndTagsFromDateRange(startDate, endDate, numberedPage(page)),
+                PostSummary::getId
+            )
+            : postService.getPostsWithAuthorCategoryAndTagsFromDateRange(startDate, endDate, before, after, PAGE_SIZE)
         );
-        List<CategoryWithPostsCount> categories = categoryService.getTop5CategoriesWithPostsCount();
-        List<YearArchiveEntry> archive = postService.getPostsArchive();
+        CompletableFuture<List<CategoryWithPostsCount>> categories = pageSectionLoader.load(
+            categoryService::getTop5CategoriesWithPostsCount
+        );
+        CompletableFuture<List<YearArchiveEntry>> archive = pageSectionLoader.load(postService::getPostsArchive);
+
+        PageCache.dependsOn(dependencies);
 
         return new ModelAndView("blog/posts_from_month")
             .addObject("startDate", startDate)
             .addObject("endDate", endDate)
-            .addObject("posts", posts)
-            .addObject("categories", categories)
-            .addObject("archive", archive);
+            .addObject("posts", pageSectionLoader.join(posts))
+            .addObject("categories", pageSectionLoader.join(categories))
+            .addObject("archive", pageSectionLoader.join(archive));
+    }
+
+    private boolean isBeyondNumberedPagesLimit(Integer page) {
+        return page != null && page >= NUMBERED_PAGES_LIMIT;
+    }
+
+    private PageRequest numberedPage(int page) {
+        return PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Order.desc("id")));
+    }
+
+    private ModelAndView redirectToFirstPage() {
+        return new ModelAndView("redirect:" + ServletUriComponentsBuilder.fromCurrentRequestUri().toUriString());
     }
 
     @ExceptionHandler({
@@ -5,40 +5,83 @@ import io.plyschik.springbootblog.dto.PostsCommentApiResponse;
 import io.plyschik.springbootblog.exception.PostNotFoundException;
 import io.plyschik.springbootblog.exception.UserNotFoundException;
 import io.plyschik.springbootblog.service.CommentService;
+import io.plyschik.springbootblog.service.CommentStream;
 import io.plyschik.springbootblog.service.PostService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import javax.validation.Valid;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Optional;
 
 @Controller
 @RequiredArgsConstructor
 public class CommentController {
+    private static final int COMMENTS_PAGE_SIZE = 5;
+    private static final int MAX_COMMENTS_LIMIT = 50;
+
     private final PostService postService;
     private final CommentService commentService;
+    private final CommentStream commentStream;
 
     @GetMapping("/api/posts/{postId:^[1-9][0-9]*$}/comments")
     public ResponseEntity<PostsCommentApiResponse> getPostComments(
         @PathVariable long postId,
         @RequestParam(required = false, defaultValue = "0") int page,
-        Authentication authentication
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Integer limit,
+        Authentication authentication,
+        WebRequest webRequest
     ) {
+        Optional<Instant> commentsUpdatedAt = postService.getCommentsUpdatedAt(postId)
+            .map(updatedAt -> updatedAt.atZone(ZoneId.systemDefault()).toInstant());
+        if (commentsUpdatedAt.isPresent()
+            && !commentService.hasPendingComments(postId, authentication)
+            && ConditionalGet.isNotModified(webRequest, commentsUpdatedAt.get(), page, before, limit)) {
+            return null;
+        }
+
+        if (before != null || limit != null) {
+            return ResponseEntity.ok(commentService.getCommentsByPostIdBefore(
+                postId,
+                before,
+                Math.min(Math.max(limit != null ? limit : COMMENTS_PAGE_SIZE, 1), MAX_COMMENTS_LIMIT),
+                authentication
+            ));
+        }
+
         PostsCommentApiResponse response = commentService.getCommentsByPostId(
             postId,
-            PageRequest.of(page, 5, Sort.by(Sort.Order.desc("id"))),
+            PageRequest.of(page, COMMENTS_PAGE_SIZE, Sort.by(Sort.Order.desc("id"))),
             authentication
         );
 
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping(
+        value = "/api/posts/{postId:^[1-9][0-9]*$}/comments/stream",
+        produces = MediaType.TEXT_EVENT_STREAM_VALUE
+    )
+    public SseEmitter streamPostComments(@PathVariable long postId) {
+        if (!postService.existsById(postId)) {
+            throw new PostNotFoundException();
+        }
+
+        return commentStream.subscribe(postId);
+    }
+
     @PostMapping("/api/posts/{postId:^[1-9][0-9]*$}/comments")
     @PreAuthorize("isAuthenticated()")
     public ResponseEntity<PostsCommentApiResponse.Comment> createComment(
@@ -52,6 +95,10 @@ public class CommentController {
             authentication
         );
 
+        if (response.isPending()) {
+            return ResponseEntity.accepted().body(response);
+        }
+
         return ResponseEntity.ok(response);
     }
 
@@ -0,0 +1,74 @@
+package io.plyschik.springbootblog.controller;
+
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.DispatcherServlet;
+
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.Principal;
+import java.time.Instant;
+import java.util.Arrays;
+
+final class ConditionalGet {
+    private ConditionalGet() {
+    }
+
+    static boolean isNotModified(WebRequest webRequest, Instant lastModified, Object... variants) {
+        Object flashMap = webRequest.getAttribute(
+            DispatcherServlet.INPUT_FLASH_MAP_ATTRIBUTE,
+            RequestAttributes.SCOPE_REQUEST
+        );
+        if (flashMap != null) {
+            return false;
+        }
+
+        Principal principal = webRequest.getUserPrincipal();
+        setCacheControl(webRequest, principal != null);
+
+        // The full-precision instant keeps two changes within the same second apart; Last-Modified cannot.
+        String version = lastModified
+            + "|" + (principal != null ? principal.getName() : "")
+            + "|" + getCsrfToken(webRequest, principal)
+            + "|" + LocaleContextHolder.getLocale().toLanguageTag()
+            + "|" + Arrays.toString(variants);
+        String eTag = "W/\"" + DigestUtils.md5DigestAsHex(version.getBytes(StandardCharsets.UTF_8)) + "\"";
+
+        return webRequest.checkNotModified(eTag, lastModified.toEpochMilli());
+    }
+
+    private static String getCsrfToken(WebRequest webRequest, Principal principal) {
+        // Pages of signed in users embed the session's token in the sign out form, so a new session needs a new page.
+        if (principal == null) {
+            return "";
+        }
+
+        CsrfToken csrfToken = (CsrfToken) webRequest.getAttribute(
+            CsrfToken.class.getName(),
+            RequestAttributes.SCOPE_REQUEST
+        );
+
+        return csrfToken != null ? csrfToken.getToken() : "";
+    }
+
+    private static void setCacheControl(WebRequest webRequest, boolean authenticated) {
+        if (!(webRequest instanceof NativeWebRequest)) {
+            return;
+        }
+
+        HttpServletResponse response = ((NativeWebRequest) webRequest).getNativeResponse(HttpServletResponse.class);
+        if (response == null) {
+            return;
+        }
+
+        // Without an explicit value Spring Security sends no-store, so browsers would never keep the validators.
+        CacheControl cacheControl = authenticated ? CacheControl.noCache().cachePrivate() : CacheControl.noCache();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+    }
+}
@@ -2,45 +2,82 @@ package io.plyschik.springbootblog.controller;
 
 import io.plyschik.springbootblog.dto.CategoryWithPostsCount;
 import io.plyschik.springbootblog.dto.YearArchiveEntry;
-import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.dto.PostSummary;
+import io.plyschik.springbootblog.dto.Suggestion;
 import io.plyschik.springbootblog.service.CategoryService;
+import io.plyschik.springbootblog.service.PageCache;
+import io.plyschik.springbootblog.service.PageSectionLoader;
 import io.plyschik.springbootblog.service.PostService;
+import io.plyschik.springbootblog.service.SuggestionIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.ModelAndView;
 
+import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
 public class SearchController {
+    private static final int SUGGESTIONS_LIMIT = 10;
+
     private final PostService postService;
     private final CategoryService categoryService;
+    private final PageSectionLoader pageSectionLoader;
+    private final PageCache pageCache;
+    private final SuggestionIndex suggestionIndex;
 
     @GetMapping("/search")
     private ModelAndView search(
         @RequestParam String query,
-        @RequestParam(required = false, defaultValue = "0") int page
+        @RequestParam(required = false, defaultValue = "0") int page,
+        WebRequest webRequest
     ) {
         if (query.isBlank()) {
             return new ModelAndView("redirect:/");
         }
 
-        Page<Post> posts = postService.getPostsWithAuthorCategoryAndTagsWhereTitleOrContentContains(
-            query,
-            PageRequest.of(page, 5, Sort.by(Sort.Order.desc("id")))
+        String[] dependencies = {PageCache.postLists(), PageCache.sidebar()};
+        if (ConditionalGet.isNotModified(webRequest, pageCache.getLastModified(dependencies))) {
+            return null;
+        }
+
+        CompletableFuture<Page<PostSummary>> posts = pageSectionLoader.load(() ->
+            postService.getPostsWithAuthorCategoryAndTagsWhereTitleOrContentContains(
+                query,
+                PageRequest.of(page, 5)
+            )
+        );
+        CompletableFuture<List<CategoryWithPostsCount>> categories = pageSectionLoader.load(
+            categoryService::getTop5CategoriesWithPostsCount
         );
-        List<CategoryWithPostsCount> categories = categoryService.getTop5CategoriesWithPostsCount();
-        List<YearArchiveEntry> archive = postService.getPostsArchive();
+        CompletableFuture<List<YearArchiveEntry>> archive = pageSectionLoader.load(postService::getPostsArchive);
+
+        PageCache.dependsOn(dependencies);
 
         return new ModelAndView("blog/search")
-            .addObject("posts", posts)
-            .addObject("categories", categories)
-            .addObject("archive", archive);
+            .addObject("posts", pageSectionLoader.join(posts))
+            .addObject("categories", pageSectionLoader.join(categories))
+            .addObject("archive", pageSectionLoader.join(archive));
+    }
+
+    @GetMapping("/api/search/suggestions")
+    public ResponseEntity<List<Suggestion>> suggestions(@RequestParam(required = false, defaultValue = "") String query) {
+        List<Suggestion> suggestions = query.isBlank()
+            ? Collections.emptyList()
+            : suggestionIndex.suggest(query, SUGGESTIONS_LIMIT);
+
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePublic())
+            .body(suggestions);
     }
 }
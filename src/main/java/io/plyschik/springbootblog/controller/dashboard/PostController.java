@@ -19,6 +19,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.SortDefault;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
@@ -27,6 +28,7 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
 import java.security.Principal;
+import java.time.LocalDate;
 import java.util.List;
 
 @Controller
@@ -43,6 +45,9 @@ public class PostController {
         @RequestParam(name = "user", required = false) Long userId,
         @RequestParam(name = "category", required = false) Long categoryId,
         @RequestParam(name = "tag", required = false) Long tagId,
+        @RequestParam(required = false) Boolean published,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
         @RequestParam(required = false, defaultValue = "") String query,
         @SortDefault(sort = "id", direction = Sort.Direction.DESC) Pageable pageable
     ) {
@@ -51,13 +56,16 @@ public class PostController {
             Sort.by("name").ascending()
         );
         List<TagWithPostsCount> tags = tagService.getTagsWithPostsCount(Sort.by("name").ascending());
-        Page<PostWithRelationshipsCount> posts = postService.getPostsWithCategory(
-            userId,
-            categoryId,
-            tagId,
-            query,
-            pageable
-        );
+        PostFilter filter = PostFilter.builder()
+            .userId(userId)
+            .categoryId(categoryId)
+            .tagId(tagId)
+            .published(published)
+            .createdFrom(from != null ? from.atStartOfDay() : null)
+            .createdTo(to != null ? to.plusDays(1).atStartOfDay() : null)
+            .query(query)
+            .build();
+        Page<PostWithRelationshipsCount> posts = postService.getPostsWithRelationshipsCount(filter, pageable);
 
         return new ModelAndView("dashboard/post/list")
             .addObject("users", users)
@@ -89,7 +97,7 @@ public class PostController {
         }
 
         try {
-            postService.createPost(postDto, userService.getUserByEmail(principal.getName()));
+            postService.createPost(postDto, userService.getUserReference(principal));
         } catch (CategoryNotFoundException exception) {
             bindingResult.rejectValue(
                 "categoryId",
@@ -0,0 +1,12 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CommentAuthor {
+    private long id;
+    private String firstName;
+    private String lastName;
+}
@@ -0,0 +1,48 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.data.domain.Page;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> implements Iterable<T> {
+    private List<T> content;
+    private Long previousCursor;
+    private Long nextCursor;
+
+    public static <T> CursorPage<T> fromPage(Page<T> page, Function<T, Long> idExtractor) {
+        List<T> content = page.getContent();
+
+        if (content.isEmpty()) {
+            return new CursorPage<>(content, null, null);
+        }
+
+        return new CursorPage<>(
+            content,
+            page.hasPrevious() ? idExtractor.apply(content.get(0)) : null,
+            page.hasNext() ? idExtractor.apply(content.get(content.size() - 1)) : null
+        );
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean isEmpty() {
+        return content.isEmpty();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return content.iterator();
+    }
+}
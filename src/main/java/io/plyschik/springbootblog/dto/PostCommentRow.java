@@ -0,0 +1,19 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PostCommentRow {
+    private int postCommentsCount;
+    private Long commentId;
+    private String content;
+    private LocalDateTime createdAt;
+    private Long userId;
+    private String userEmail;
+    private String userFirstName;
+    private String userLastName;
+}
@@ -0,0 +1,18 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+public class PostFilter {
+    private Long userId;
+    private Long categoryId;
+    private Long tagId;
+    private Boolean published;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private String query;
+}
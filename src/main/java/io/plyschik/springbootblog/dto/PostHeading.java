@@ -0,0 +1,14 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PostHeading {
+    private int level;
+    private String text;
+    private String anchor;
+}
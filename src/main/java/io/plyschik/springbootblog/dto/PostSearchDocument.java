@@ -0,0 +1,15 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class PostSearchDocument {
+    private Long id;
+    private String title;
+    private String contentRaw;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,62 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Getter
+@Setter
+public class PostSummary {
+    private Long id;
+    private String title;
+    private String excerpt;
+    private int readingTime;
+    private LocalDateTime createdAt;
+    private Author user;
+    private Category category;
+    private List<PostTag> tags = new ArrayList<>();
+
+    public PostSummary(
+        Long id,
+        String title,
+        String excerpt,
+        int readingTime,
+        LocalDateTime createdAt,
+        Long userId,
+        String userFirstName,
+        String userLastName,
+        Long categoryId,
+        String categoryName
+    ) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = excerpt;
+        this.readingTime = readingTime;
+        this.createdAt = createdAt;
+        this.user = new Author(userId, userFirstName, userLastName);
+        this.category = categoryId != null ? new Category(categoryId, categoryName) : null;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Author {
+        private Long id;
+        private String firstName;
+        private String lastName;
+
+        public String getFullName() {
+            return String.format("%s %s", firstName, lastName);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Category {
+        private Long id;
+        private String name;
+    }
+}
@@ -0,0 +1,12 @@
+package io.plyschik.springbootblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class PostTag {
+    private Long postId;
+    private Long id;
+    private String name;
+}
@@ -15,7 +15,7 @@ public class PostWithRelationshipsCount {
     private boolean published;
     private String author;
     private String category;
-    private Long tagsCount;
-    private Long commentsCount;
+    private int tagsCount;
+    private int commentsCount;
     private LocalDateTime createdAt;
 }
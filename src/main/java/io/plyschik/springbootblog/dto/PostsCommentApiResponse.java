@@ -1,6 +1,7 @@
 package io.plyschik.springbootblog.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.Setter;
@@ -14,6 +15,7 @@ import java.util.List;
 public class PostsCommentApiResponse {
     private List<Comment> comments;
     private Pagination pagination;
+    private Cursor cursor;
 
     @Getter
     @Setter
@@ -27,6 +29,10 @@ public class PostsCommentApiResponse {
         private User user;
         private boolean canEdit;
         private boolean canDelete;
+        private boolean pending;
+
+        @JsonInclude(JsonInclude.Include.NON_NULL)
+        private Long pendingId;
     }
 
     @Getter
@@ -48,4 +54,14 @@ public class PostsCommentApiResponse {
         private boolean hasPreviousPage;
         private boolean hasNextPage;
     }
+
+    @Getter
+    @Setter
+    @Builder
+    public static class Cursor {
+        private Long nextCursor;
+        private int limit;
+        private long totalElements;
+        private boolean hasNextPage;
+    }
 }
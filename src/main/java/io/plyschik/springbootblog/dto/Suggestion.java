@@ -0,0 +1,45 @@
+package io.plyschik.springbootblog.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class Suggestion {
+    private String type;
+    private Long id;
+    private String label;
+
+    public static Suggestion post(Long id, String title) {
+        return new Suggestion("post", id, title);
+    }
+
+    public static Suggestion tag(Long id, String name) {
+        return new Suggestion("tag", id, name);
+    }
+
+    public static Suggestion category(Long id, String name) {
+        return new Suggestion("category", id, name);
+    }
+
+    public static String key(String type, Long id) {
+        return type + ":" + id;
+    }
+
+    @JsonIgnore
+    public String getKey() {
+        return key(type, id);
+    }
+
+    public String getUrl() {
+        switch (type) {
+            case "tag":
+                return "/tags/" + id + "/posts";
+            case "category":
+                return "/categories/" + id + "/posts";
+            default:
+                return "/posts/" + id;
+        }
+    }
+}
@@ -13,7 +13,7 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "IDX_COMMENTS_POST_ID", columnList = "post_id, id"))
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,37 @@
+package io.plyschik.springbootblog.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.HashMap;
+import java.util.Map;
+
+@Converter
+public class MailVariablesConverter implements AttributeConverter<Map<String, String>, String> {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, String> variables) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(variables != null ? variables : new HashMap<>());
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Mail variables cannot be serialized.", exception);
+        }
+    }
+
+    @Override
+    public Map<String, String> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new HashMap<>();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(json, new TypeReference<>() {});
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Mail variables cannot be deserialized.", exception);
+        }
+    }
+}
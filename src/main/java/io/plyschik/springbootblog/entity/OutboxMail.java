@@ -0,0 +1,85 @@
+package io.plyschik.springbootblog.entity;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+@Entity
+@Table(
+    name = "mail_outbox",
+    indexes = @Index(name = "IDX_MAIL_OUTBOX_NEXT_ATTEMPT_AT", columnList = "next_attempt_at")
+)
+@Getter
+@Setter
+@NoArgsConstructor
+public class OutboxMail {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Setter(AccessLevel.NONE)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, length = 100)
+    private String template;
+
+    @Convert(converter = MailVariablesConverter.class)
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private Map<String, String> variables = new HashMap<>();
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(nullable = false, name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    @Column(nullable = false, name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Override
+    public String toString() {
+        return "OutboxMail{" +
+                "id=" + id +
+                ", recipient='" + recipient + '\'' +
+                ", subject='" + subject + '\'' +
+                ", template='" + template + '\'' +
+                ", attempts=" + attempts +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        OutboxMail that = (OutboxMail) object;
+
+        return Objects.equals(id, that.id) && Objects.equals(recipient, that.recipient) && Objects.equals(createdAt, that.createdAt);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id, recipient, createdAt);
+    }
+}
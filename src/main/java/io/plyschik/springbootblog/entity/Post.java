@@ -1,16 +1,18 @@
 package io.plyschik.springbootblog.entity;
 
-import io.plyschik.springbootblog.dto.PostCountByYearAndMonthDto;
+import io.plyschik.springbootblog.dto.PostHeading;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
 import org.hibernate.validator.constraints.Length;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotBlank;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
@@ -18,30 +20,18 @@ import java.util.Set;
 import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "posts")
+@Table(
+    name = "posts",
+    indexes = {
+        @Index(name = "IDX_POSTS_PUBLISHED_ID", columnList = "published, id"),
+        @Index(name = "IDX_POSTS_PUBLISHED_CREATED_AT", columnList = "published, created_at"),
+        @Index(name = "IDX_POSTS_USER_PUBLISHED_ID", columnList = "user_id, published, id"),
+        @Index(name = "IDX_POSTS_CATEGORY_PUBLISHED_ID", columnList = "category_id, published, id")
+    }
+)
 @Getter
 @Setter
 @NoArgsConstructor
-@NamedNativeQuery(
-    name = "Post.countPostsByYearAndMonth",
-    query = "SELECT YEAR(p.created_at) AS year, MONTH(p.created_at) AS month, COUNT(*) AS count " +
-            "FROM posts p " +
-            "WHERE p.published = true " +
-            "GROUP BY year, month " +
-            "ORDER BY year DESC, month DESC",
-    resultSetMapping = "Post.countPostsByYearAndMonthMapping"
-)
-@SqlResultSetMapping(
-    name = "Post.countPostsByYearAndMonthMapping",
-    classes = @ConstructorResult(
-        targetClass = PostCountByYearAndMonthDto.class,
-        columns = {
-            @ColumnResult(name = "year", type = Integer.class),
-            @ColumnResult(name = "month", type = Integer.class),
-            @ColumnResult(name = "count", type = Integer.class)
-        }
-    )
-)
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -63,10 +53,36 @@ public class Post {
     @Column(nullable = false, columnDefinition = "TEXT")
     private String contentRaw;
 
+    @Column(length = 320)
+    private String excerpt;
+
+    @Column(nullable = false, name = "word_count")
+    private int wordCount;
+
+    @Column(nullable = false, name = "reading_time")
+    private int readingTime;
+
+    @Convert(converter = PostHeadingsConverter.class)
+    @Column(columnDefinition = "TEXT")
+    private List<PostHeading> outline = new ArrayList<>();
+
     @CreationTimestamp
     @Column(nullable = false, name = "created_at")
     private LocalDateTime createdAt;
 
+    @UpdateTimestamp
+    @Column(nullable = false, name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "comments_updated_at")
+    private LocalDateTime commentsUpdatedAt;
+
+    @Column(nullable = false, name = "tags_count")
+    private int tagsCount;
+
+    @Column(nullable = false, updatable = false, name = "comments_count")
+    private int commentsCount;
+
     private boolean published;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -81,7 +97,8 @@ public class Post {
     @JoinTable(
         name = "posts_tags",
         joinColumns = @JoinColumn(name = "post_id"),
-        inverseJoinColumns = @JoinColumn(name = "tag_id")
+        inverseJoinColumns = @JoinColumn(name = "tag_id"),
+        indexes = @Index(name = "IDX_POSTS_TAGS_TAG_POST", columnList = "tag_id, post_id")
     )
     private Set<Tag> tags = new HashSet<>();
 
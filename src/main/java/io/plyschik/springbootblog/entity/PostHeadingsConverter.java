@@ -0,0 +1,38 @@
+package io.plyschik.springbootblog.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.plyschik.springbootblog.dto.PostHeading;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+import java.util.ArrayList;
+import java.util.List;
+
+@Converter
+public class PostHeadingsConverter implements AttributeConverter<List<PostHeading>, String> {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(List<PostHeading> headings) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(headings != null ? headings : new ArrayList<>());
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Post outline cannot be serialized.", exception);
+        }
+    }
+
+    @Override
+    public List<PostHeading> convertToEntityAttribute(String json) {
+        if (json == null || json.isBlank()) {
+            return new ArrayList<>();
+        }
+
+        try {
+            return OBJECT_MAPPER.readValue(json, new TypeReference<>() {});
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException("Post outline cannot be deserialized.", exception);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package io.plyschik.springbootblog.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "post_monthly_counts")
+@IdClass(PostMonthlyCount.Key.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class PostMonthlyCount {
+    @Id
+    @Column(nullable = false)
+    private int year;
+
+    @Id
+    @Column(nullable = false)
+    private int month;
+
+    @Column(nullable = false, name = "posts_count")
+    private int postsCount;
+
+    public PostMonthlyCount(int year, int month, int postsCount) {
+        this.year = year;
+        this.month = month;
+        this.postsCount = postsCount;
+    }
+
+    @Override
+    public String toString() {
+        return "PostMonthlyCount{" +
+                "year=" + year +
+                ", month=" + month +
+                ", postsCount=" + postsCount +
+                '}';
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        PostMonthlyCount postMonthlyCount = (PostMonthlyCount) object;
+
+        return year == postMonthlyCount.year && month == postMonthlyCount.month;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(year, month);
+    }
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private int year;
+        private int month;
+    }
+}
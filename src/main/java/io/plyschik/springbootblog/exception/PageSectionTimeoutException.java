@@ -0,0 +1,11 @@
+package io.plyschik.springbootblog.exception;
+
+public class PageSectionTimeoutException extends RuntimeException {
+    public PageSectionTimeoutException() {
+        super("Page section has not been loaded in time.");
+    }
+
+    public PageSectionTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package io.plyschik.springbootblog.exception;
+
+import org.springframework.security.authentication.AuthenticationServiceException;
+
+public class PasswordHashingRejectedException extends AuthenticationServiceException {
+    public PasswordHashingRejectedException() {
+        super("Password hashing capacity has been exceeded.");
+    }
+}
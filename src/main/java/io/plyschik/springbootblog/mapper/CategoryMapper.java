@@ -0,0 +1,23 @@
+package io.plyschik.springbootblog.mapper;
+
+import io.plyschik.springbootblog.dto.CategoryDto;
+import io.plyschik.springbootblog.entity.Category;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CategoryMapper {
+    public Category toEntity(CategoryDto categoryDto) {
+        Category category = new Category();
+        update(categoryDto, category);
+
+        return category;
+    }
+
+    public void update(CategoryDto categoryDto, Category category) {
+        category.setName(categoryDto.getName());
+    }
+
+    public CategoryDto toDto(Category category) {
+        return new CategoryDto(category.getName());
+    }
+}
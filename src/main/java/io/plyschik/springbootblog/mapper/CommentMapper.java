@@ -0,0 +1,73 @@
+package io.plyschik.springbootblog.mapper;
+
+import io.plyschik.springbootblog.dto.CommentAuthor;
+import io.plyschik.springbootblog.dto.CommentDto;
+import io.plyschik.springbootblog.dto.PostCommentRow;
+import io.plyschik.springbootblog.dto.PostsCommentApiResponse;
+import io.plyschik.springbootblog.entity.Comment;
+import io.plyschik.springbootblog.entity.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class CommentMapper {
+    public Comment toEntity(CommentDto commentDto) {
+        Comment comment = new Comment();
+        update(commentDto, comment);
+
+        return comment;
+    }
+
+    public void update(CommentDto commentDto, Comment comment) {
+        comment.setContent(commentDto.getContent());
+    }
+
+    public PostsCommentApiResponse.Comment toApiResponse(Comment comment) {
+        PostsCommentApiResponse.Comment response = new PostsCommentApiResponse.Comment();
+        response.setId(comment.getId());
+        response.setContent(comment.getContent());
+        response.setCreatedAt(comment.getCreatedAt());
+        response.setUser(toApiResponse(comment.getUser()));
+
+        return response;
+    }
+
+    public PostsCommentApiResponse.Comment toApiResponse(PostCommentRow row) {
+        PostsCommentApiResponse.User user = new PostsCommentApiResponse.User();
+        user.setFirstName(row.getUserFirstName());
+        user.setLastName(row.getUserLastName());
+
+        PostsCommentApiResponse.Comment response = new PostsCommentApiResponse.Comment();
+        response.setId(row.getCommentId());
+        response.setContent(row.getContent());
+        response.setCreatedAt(row.getCreatedAt());
+        response.setUser(user);
+
+        return response;
+    }
+
+    public PostsCommentApiResponse.Comment toApiResponse(Comment comment, CommentAuthor author) {
+        PostsCommentApiResponse.User user = new PostsCommentApiResponse.User();
+        user.setFirstName(author.getFirstName());
+        user.setLastName(author.getLastName());
+
+        PostsCommentApiResponse.Comment response = new PostsCommentApiResponse.Comment();
+        response.setId(comment.getId());
+        response.setContent(comment.getContent());
+        response.setCreatedAt(comment.getCreatedAt());
+        response.setUser(user);
+
+        return response;
+    }
+
+    private static PostsCommentApiResponse.User toApiResponse(User user) {
+        if (user == null) {
+            return null;
+        }
+
+        PostsCommentApiResponse.User response = new PostsCommentApiResponse.User();
+        response.setFirstName(user.getFirstName());
+        response.setLastName(user.getLastName());
+
+        return response;
+    }
+}
@@ -0,0 +1,39 @@
+package io.plyschik.springbootblog.mapper;
+
+import io.plyschik.springbootblog.dto.PostDto;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.Tag;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PostMapper {
+    public Post toEntity(PostDto postDto) {
+        Post post = new Post();
+        update(postDto, post);
+
+        return post;
+    }
+
+    public void update(PostDto postDto, Post post) {
+        post.setTitle(postDto.getTitle());
+        post.setContentRaw(postDto.getContentRaw());
+        post.setPublished(postDto.isPublished());
+    }
+
+    public PostDto toDto(Post post) {
+        PostDto postDto = new PostDto();
+        postDto.setTitle(post.getTitle());
+        postDto.setContentRaw(post.getContentRaw());
+        postDto.setPublished(post.isPublished());
+
+        if (post.getCategory() != null) {
+            postDto.setCategoryId(post.getCategory().getId());
+        }
+
+        for (Tag tag: post.getTags()) {
+            postDto.getTagIds().add(tag.getId());
+        }
+
+        return postDto;
+    }
+}
@@ -0,0 +1,23 @@
+package io.plyschik.springbootblog.mapper;
+
+import io.plyschik.springbootblog.dto.TagDto;
+import io.plyschik.springbootblog.entity.Tag;
+import org.springframework.stereotype.Component;
+
+@Component
+public class TagMapper {
+    public Tag toEntity(TagDto tagDto) {
+        Tag tag = new Tag();
+        update(tagDto, tag);
+
+        return tag;
+    }
+
+    public void update(TagDto tagDto, Tag tag) {
+        tag.setName(tagDto.getName());
+    }
+
+    public TagDto toDto(Tag tag) {
+        return new TagDto(tag.getName());
+    }
+}
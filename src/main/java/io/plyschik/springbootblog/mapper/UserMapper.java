@@ -0,0 +1,30 @@
+package io.plyschik.springbootblog.mapper;
+
+import io.plyschik.springbootblog.dto.UserDto;
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.security.UserPrincipal;
+import org.springframework.stereotype.Component;
+
+@Component
+public class UserMapper {
+    public User toEntity(UserDto userDto) {
+        User user = new User();
+        user.setEmail(userDto.getEmail());
+        user.setFirstName(userDto.getFirstName());
+        user.setLastName(userDto.getLastName());
+
+        return user;
+    }
+
+    public UserPrincipal toPrincipal(User user) {
+        return new UserPrincipal(
+            user.getId(),
+            user.getEmail(),
+            user.getPassword(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getRole(),
+            user.isActivated()
+        );
+    }
+}
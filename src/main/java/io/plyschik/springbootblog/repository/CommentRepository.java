@@ -1,12 +1,14 @@
 package io.plyschik.springbootblog.repository;
 
+import io.plyschik.springbootblog.dto.PostCommentRow;
 import io.plyschik.springbootblog.entity.Comment;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -16,5 +18,19 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     Optional<Comment> findById(Long id);
 
     @EntityGraph(attributePaths = {"user"})
-    Page<Comment> findAllByPostId(long postId, Pageable pageable);
+    List<Comment> findAllByPostId(long postId, Pageable pageable);
+
+    long countByPostId(long postId);
+
+    @Query("SELECT new io.plyschik.springbootblog.dto.PostCommentRow(" +
+           "p.commentsCount, c.id, c.content, c.createdAt, u.id, u.email, u.firstName, u.lastName) " +
+           "FROM Post p " +
+           "LEFT JOIN p.comments c ON c.id < :before " +
+           "LEFT JOIN c.user u " +
+           "WHERE p.id = :postId " +
+           "ORDER BY c.id DESC")
+    List<PostCommentRow> findAllByPostIdAndIdLessThan(long postId, long before, Pageable pageable);
+
+    @Query("SELECT c.post.id FROM Comment c WHERE c.id = :id")
+    Optional<Long> findPostIdById(long id);
 }
@@ -0,0 +1,16 @@
+package io.plyschik.springbootblog.repository;
+
+import io.plyschik.springbootblog.entity.OutboxMail;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxMailRepository extends JpaRepository<OutboxMail, Long> {
+    @Query("SELECT m FROM OutboxMail m WHERE m.nextAttemptAt <= :now AND m.attempts < :maxAttempts ORDER BY m.nextAttemptAt")
+    List<OutboxMail> findAllDue(LocalDateTime now, int maxAttempts, Pageable pageable);
+}
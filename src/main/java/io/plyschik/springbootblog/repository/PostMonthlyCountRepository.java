@@ -0,0 +1,25 @@
+package io.plyschik.springbootblog.repository;
+
+import io.plyschik.springbootblog.dto.PostCountByYearAndMonthDto;
+import io.plyschik.springbootblog.entity.PostMonthlyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostMonthlyCountRepository extends JpaRepository<PostMonthlyCount, PostMonthlyCount.Key> {
+    @Query("SELECT new io.plyschik.springbootblog.dto.PostCountByYearAndMonthDto(c.year, c.month, c.postsCount) " +
+           "FROM PostMonthlyCount c " +
+           "WHERE c.postsCount > 0 " +
+           "ORDER BY c.year DESC, c.month DESC")
+    List<PostCountByYearAndMonthDto> findAllNotEmpty();
+
+    @Modifying
+    @Query("UPDATE PostMonthlyCount c " +
+           "SET c.postsCount = c.postsCount + :delta " +
+           "WHERE c.year = :year AND c.month = :month")
+    int updatePostsCount(int year, int month, int delta);
+}
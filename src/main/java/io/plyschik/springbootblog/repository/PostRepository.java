@@ -1,13 +1,16 @@
 package io.plyschik.springbootblog.repository;
 
-import io.plyschik.springbootblog.dto.PostCountByYearAndMonthDto;
-import io.plyschik.springbootblog.dto.PostWithRelationshipsCount;
+import io.plyschik.springbootblog.dto.PostSearchDocument;
+import io.plyschik.springbootblog.dto.PostSummary;
+import io.plyschik.springbootblog.dto.Suggestion;
+import io.plyschik.springbootblog.dto.PostTag;
 import io.plyschik.springbootblog.entity.Post;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -16,101 +19,152 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface PostRepository extends JpaRepository<Post, Long> {
+public interface PostRepository extends JpaRepository<Post, Long>, PostRepositoryCustom {
     @EntityGraph(attributePaths = {"category", "tags"})
     Optional<Post> findWithCategoryAndTagsById(Long id);
 
     @EntityGraph(attributePaths = {"user", "category", "tags"})
     Optional<Post> findWithUserCategoryAndTagsByIdAndPublishedIsTrue(long id);
 
-    @Query("SELECT new io.plyschik.springbootblog.dto.PostWithRelationshipsCount(p.id, p.title, p.published, CONCAT(u.firstName, ' ', u.lastName) AS author, ca.name AS category, COUNT(DISTINCT t.id) AS tagsCount, COUNT(DISTINCT co.id) AS commentsCount, p.createdAt) " +
-           "FROM Post p " +
-           "LEFT JOIN p.user u " +
-           "LEFT JOIN p.category ca " +
-           "LEFT JOIN p.tags t " +
-           "LEFT JOIN p.comments co " +
-           "WHERE p.title LIKE %:query% " +
-           "GROUP BY p.id")
-    Page<PostWithRelationshipsCount> findAllByTitleContains(String query, Pageable pageable);
-
-    @Query("SELECT new io.plyschik.springbootblog.dto.PostWithRelationshipsCount(p.id, p.title, p.published, CONCAT(u.firstName, ' ', u.lastName) AS author, ca.name AS category, COUNT(DISTINCT t.id) AS tagsCount, COUNT(DISTINCT co.id) AS commentsCount, p.createdAt) " +
-            "FROM Post p " +
-            "LEFT JOIN p.user u " +
-            "LEFT JOIN p.category ca " +
-            "LEFT JOIN p.tags t " +
-            "LEFT JOIN p.comments co " +
-            "WHERE p.title LIKE %:query% AND u.id = :userId " +
-            "GROUP BY p.id")
-    Page<PostWithRelationshipsCount> findAllByTitleContainsAndUserIdEquals(
-        String query,
-        Long userId,
-        Pageable pageable
-    );
-
-    @Query("SELECT new io.plyschik.springbootblog.dto.PostWithRelationshipsCount(p.id, p.title, p.published, CONCAT(u.firstName, ' ', u.lastName) AS author, ca.name AS category, COUNT(DISTINCT t.id) AS tagsCount, COUNT(DISTINCT co.id) AS commentsCount, p.createdAt) " +
-            "FROM Post p " +
-            "LEFT JOIN p.user u " +
-            "LEFT JOIN p.category ca " +
-            "LEFT JOIN p.tags t " +
-            "LEFT JOIN p.comments co " +
-            "WHERE p.title LIKE %:query% AND ca.id = :categoryId " +
-            "GROUP BY p.id")
-    Page<PostWithRelationshipsCount> findAllByTitleContainsAndCategoryIdEquals(
-        String query,
-        Long categoryId,
-        Pageable pageable
-    );
-
-    @Query("SELECT new io.plyschik.springbootblog.dto.PostWithRelationshipsCount(p.id, p.title, p.published, CONCAT(u.firstName, ' ', u.lastName) AS author, ca.name AS category, COUNT(DISTINCT t.id) AS tagsCount, COUNT(DISTINCT co.id) AS commentsCount, p.createdAt) " +
-            "FROM Post p " +
-            "LEFT JOIN p.user u " +
-            "LEFT JOIN p.category ca " +
-            "LEFT JOIN p.tags t " +
-            "LEFT JOIN p.comments co " +
-            "WHERE p.title LIKE %:query% AND t.id = :tagId " +
-            "GROUP BY p.id")
-    Page<PostWithRelationshipsCount> findAllByTitleContainsAndTagIdEquals(
-        String query,
-        Long tagId,
-        Pageable pageable
-    );
-
     @Query("SELECT p.id " +
            "FROM Post p " +
            "WHERE p.published = true")
-    Page<Long> findAllPublishedIds(Pageable pageable);
+    List<Long> findAllPublishedIds(Pageable pageable);
 
     @Query("SELECT p.id " +
         "FROM Post p " +
         "LEFT JOIN p.user u " +
         "WHERE p.published = true AND u.id = :id")
-    Page<Long> findAllPublishedByUserIds(long id, Pageable pageable);
+    List<Long> findAllPublishedByUserIds(long id, Pageable pageable);
 
     @Query("SELECT p.id " +
         "FROM Post p " +
         "LEFT JOIN p.category c " +
         "WHERE p.published = true AND c.id = :id")
-    Page<Long> findAllPublishedByCategoryIds(long id, Pageable pageable);
+    List<Long> findAllPublishedByCategoryIds(long id, Pageable pageable);
 
     @Query("SELECT p.id " +
         "FROM Post p " +
         "LEFT JOIN p.tags t " +
         "WHERE p.published = true AND t.id = :id")
-    Page<Long> findAllPublishedByTagIds(long id, Pageable pageable);
+    List<Long> findAllPublishedByTagIds(long id, Pageable pageable);
 
     @Query("SELECT p.id " +
         "FROM Post p " +
         "WHERE p.published = true AND p.createdAt BETWEEN :startDate AND :endDate")
-    Page<Long> findAllPublishedFromDateRangeIds(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
+    List<Long> findAllPublishedFromDateRangeIds(LocalDateTime startDate, LocalDateTime endDate, Pageable pageable);
 
     @Query("SELECT p.id " +
         "FROM Post p " +
         "WHERE p.published = TRUE AND (p.title LIKE %:query% OR p.content LIKE %:query%)")
     Page<Long> findAllPublishedWhereTitleOrContentContainsIds(String query, Pageable pageable);
 
-    @EntityGraph(attributePaths = {"user", "category", "tags"})
-    List<Post> findAllPublishedWithAuthorCategoryAndTagsByIdIn(List<Long> ids, Sort sort);
+    @Query("SELECT p.id " +
+        "FROM Post p " +
+        "WHERE p.published = true AND p.id > :lowerBound AND p.id < :upperBound")
+    List<Long> findAllPublishedIdsBetween(long lowerBound, long upperBound, Pageable pageable);
+
+    @Query("SELECT p.id " +
+        "FROM Post p " +
+        "WHERE p.published = true AND p.user.id = :id AND p.id > :lowerBound AND p.id < :upperBound")
+    List<Long> findAllPublishedByUserIdsBetween(long id, long lowerBound, long upperBound, Pageable pageable);
+
+    @Query("SELECT p.id " +
+        "FROM Post p " +
+        "WHERE p.published = true AND p.category.id = :id AND p.id > :lowerBound AND p.id < :upperBound")
+    List<Long> findAllPublishedByCategoryIdsBetween(long id, long lowerBound, long upperBound, Pageable pageable);
+
+    @Query("SELECT p.id " +
+        "FROM Post p " +
+        "JOIN p.tags t " +
+        "WHERE p.published = true AND t.id = :id AND p.id > :lowerBound AND p.id < :upperBound")
+    List<Long> findAllPublishedByTagIdsBetween(long id, long lowerBound, long upperBound, Pageable pageable);
+
+    @Query("SELECT p.id " +
+        "FROM Post p " +
+        "WHERE p.published = true AND p.createdAt BETWEEN :startDate AND :endDate " +
+        "AND p.id > :lowerBound AND p.id < :upperBound")
+    List<Long> findAllPublishedFromDateRangeIdsBetween(
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        long lowerBound,
+        long upperBound,
+        Pageable pageable
+    );
+
+    @Query("SELECT new io.plyschik.springbootblog.dto.PostSummary(p.id, p.title, p.excerpt, p.readingTime, p.createdAt, u.id, u.firstName, u.lastName, c.id, c.name) " +
+        "FROM Post p " +
+        "JOIN p.user u " +
+        "LEFT JOIN p.category c " +
+        "WHERE p.id IN :ids")
+    List<PostSummary> findAllSummariesByIdIn(List<Long> ids, Sort sort);
+
+    @Query("SELECT new io.plyschik.springbootblog.dto.PostTag(p.id, t.id, t.name) " +
+        "FROM Post p " +
+        "JOIN p.tags t " +
+        "WHERE p.id IN :postIds " +
+        "ORDER BY t.name")
+    List<PostTag> findAllTagsByPostIdIn(List<Long> postIds);
+
+    @Query("SELECT p.id FROM Post p WHERE p.excerpt IS NULL AND p.id > :id ORDER BY p.id")
+    List<Long> findIdsByExcerptIsNullAndIdGreaterThan(long id, Pageable pageable);
+
+    @Query("SELECT new io.plyschik.springbootblog.dto.PostSearchDocument(p.id, p.title, p.contentRaw, p.updatedAt) " +
+        "FROM Post p " +
+        "WHERE p.published = true AND p.id > :afterId " +
+        "ORDER BY p.id")
+    List<PostSearchDocument> findAllPublishedSearchDocumentsAfter(long afterId, Pageable pageable);
+
+    @Query("SELECT p.updatedAt FROM Post p WHERE p.id = :id AND p.published = true")
+    Optional<LocalDateTime> findPublishedUpdatedAtById(long id);
+
+    @Query("SELECT COALESCE(p.commentsUpdatedAt, p.createdAt) FROM Post p WHERE p.id = :id")
+    Optional<LocalDateTime> findCommentsUpdatedAtById(long id);
+
+    @Modifying
+    @Query("UPDATE Post p " +
+           "SET p.commentsUpdatedAt = :commentsUpdatedAt, p.commentsCount = p.commentsCount + :commentsCountDelta " +
+           "WHERE p.id = :id")
+    int updateComments(long id, LocalDateTime commentsUpdatedAt, int commentsCountDelta);
+
+    @Modifying
+    @Query(value = "UPDATE posts " +
+                   "SET content = :content, excerpt = :excerpt, word_count = :wordCount, " +
+                   "reading_time = :readingTime, outline = :outline " +
+                   "WHERE id = :id",
+           nativeQuery = true)
+    int updateDerivedFields(long id, String content, String excerpt, int wordCount, int readingTime, String outline);
+
+    @Modifying
+    @Query(value = "UPDATE posts SET tags_count = tags_count - 1 WHERE id IN (SELECT post_id FROM posts_tags WHERE tag_id = :tagId)",
+           nativeQuery = true)
+    int decrementTagsCountByTagId(long tagId);
+
+    @Modifying
+    @Query(value = "DELETE FROM posts_tags WHERE tag_id = :tagId", nativeQuery = true)
+    int deleteTagLinksByTagId(long tagId);
+
+    @Modifying
+    @Query(value = "UPDATE posts " +
+                   "SET tags_count = (SELECT COUNT(*) FROM posts_tags pt WHERE pt.post_id = posts.id), " +
+                   "comments_count = (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id) " +
+                   "WHERE tags_count <> (SELECT COUNT(*) FROM posts_tags pt WHERE pt.post_id = posts.id) " +
+                   "OR comments_count <> (SELECT COUNT(*) FROM comments c WHERE c.post_id = posts.id)",
+           nativeQuery = true)
+    int recomputeRelationshipsCounts();
+
+    @Query("SELECT new io.plyschik.springbootblog.dto.Suggestion('post', p.id, p.title) " +
+        "FROM Post p " +
+        "WHERE p.published = true")
+    List<Suggestion> findAllPublishedTitleSuggestions();
+
+    long countByPublishedIsTrue();
+
+    long countByPublishedIsTrueAndUserId(long userId);
+
+    long countByPublishedIsTrueAndCategoryId(long categoryId);
+
+    long countByPublishedIsTrueAndTagsId(long tagId);
 
-    @Query(name = "Post.countPostsByYearAndMonth", nativeQuery = true)
-    List<PostCountByYearAndMonthDto> findPostsCountByYearAndMonthDto();
+    long countByPublishedIsTrueAndCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
 }
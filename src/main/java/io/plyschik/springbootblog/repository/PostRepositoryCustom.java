@@ -0,0 +1,10 @@
+package io.plyschik.springbootblog.repository;
+
+import io.plyschik.springbootblog.dto.PostFilter;
+import io.plyschik.springbootblog.dto.PostWithRelationshipsCount;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface PostRepositoryCustom {
+    Page<PostWithRelationshipsCount> findAllWithRelationshipsCount(PostFilter filter, Pageable pageable);
+}
@@ -0,0 +1,166 @@
+package io.plyschik.springbootblog.repository;
+
+import io.plyschik.springbootblog.dto.PostFilter;
+import io.plyschik.springbootblog.dto.PostWithRelationshipsCount;
+import io.plyschik.springbootblog.entity.Category;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.Tag;
+import io.plyschik.springbootblog.entity.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import javax.persistence.criteria.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+public class PostRepositoryCustomImpl implements PostRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<PostWithRelationshipsCount> findAllWithRelationshipsCount(PostFilter filter, Pageable pageable) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+
+        CriteriaQuery<PostWithRelationshipsCount> query = criteriaBuilder.createQuery(PostWithRelationshipsCount.class);
+        Root<Post> post = query.from(Post.class);
+        Join<Post, User> user = post.join("user");
+        Join<Post, Category> category = post.join("category", JoinType.LEFT);
+
+        query.select(criteriaBuilder.construct(
+            PostWithRelationshipsCount.class,
+            post.get("id"),
+            post.get("title"),
+            post.get("published"),
+            criteriaBuilder.concat(criteriaBuilder.concat(user.<String>get("firstName"), " "), user.<String>get("lastName")),
+            category.get("name"),
+            post.get("tagsCount"),
+            post.get("commentsCount"),
+            post.get("createdAt")
+        ));
+        query.where(getPredicates(criteriaBuilder, query, post, filter));
+        query.orderBy(getOrders(criteriaBuilder, pageable.getSort(), post, user, category));
+
+        TypedQuery<PostWithRelationshipsCount> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(filter));
+    }
+
+    private long count(PostFilter filter) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<Post> post = query.from(Post.class);
+
+        query.select(criteriaBuilder.count(post));
+        query.where(getPredicates(criteriaBuilder, query, post, filter));
+
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static Predicate[] getPredicates(
+        CriteriaBuilder criteriaBuilder,
+        CriteriaQuery<?> query,
+        Root<Post> post,
+        PostFilter filter
+    ) {
+        List<Predicate> predicates = new ArrayList<>();
+
+        if (filter.getUserId() != null) {
+            predicates.add(criteriaBuilder.equal(post.get("user").get("id"), filter.getUserId()));
+        }
+
+        if (filter.getCategoryId() != null) {
+            predicates.add(criteriaBuilder.equal(post.get("category").get("id"), filter.getCategoryId()));
+        }
+
+        if (filter.getPublished() != null) {
+            predicates.add(criteriaBuilder.equal(post.get("published"), filter.getPublished()));
+        }
+
+        if (filter.getCreatedFrom() != null) {
+            predicates.add(criteriaBuilder.greaterThanOrEqualTo(post.<LocalDateTime>get("createdAt"), filter.getCreatedFrom()));
+        }
+
+        if (filter.getCreatedTo() != null) {
+            predicates.add(criteriaBuilder.lessThan(post.<LocalDateTime>get("createdAt"), filter.getCreatedTo()));
+        }
+
+        if (filter.getTagId() != null) {
+            // Uncorrelated, so the tag's posts are looked up through posts_tags instead of probing every post.
+            Subquery<Long> tagged = query.subquery(Long.class);
+            Root<Tag> tag = tagged.from(Tag.class);
+            Join<Tag, Post> taggedPost = tag.join("posts");
+            tagged.select(taggedPost.<Long>get("id")).where(criteriaBuilder.equal(tag.get("id"), filter.getTagId()));
+
+            predicates.add(post.get("id").in(tagged));
+        }
+
+        if (filter.getQuery() != null && !filter.getQuery().isBlank()) {
+            predicates.add(criteriaBuilder.like(
+                criteriaBuilder.lower(post.get("title")),
+                "%" + escapeLike(filter.getQuery().toLowerCase(Locale.ROOT)) + "%",
+                '\\'
+            ));
+        }
+
+        return predicates.toArray(new Predicate[0]);
+    }
+
+    private static List<Order> getOrders(
+        CriteriaBuilder criteriaBuilder,
+        Sort sort,
+        Root<Post> post,
+        Join<Post, User> user,
+        Join<Post, Category> category
+    ) {
+        List<Order> orders = new ArrayList<>();
+
+        for (Sort.Order order: sort) {
+            List<Expression<?>> expressions = new ArrayList<>();
+
+            switch (order.getProperty()) {
+                case "author":
+                    expressions.add(user.get("firstName"));
+                    expressions.add(user.get("lastName"));
+                    break;
+                case "category":
+                    expressions.add(category.get("name"));
+                    break;
+                case "id":
+                case "title":
+                case "published":
+                case "tagsCount":
+                case "commentsCount":
+                case "createdAt":
+                    expressions.add(post.get(order.getProperty()));
+                    break;
+                default:
+                    continue;
+            }
+
+            expressions.forEach(expression -> orders.add(
+                order.isAscending() ? criteriaBuilder.asc(expression) : criteriaBuilder.desc(expression)
+            ));
+        }
+
+        if (orders.isEmpty()) {
+            orders.add(criteriaBuilder.desc(post.get("id")));
+        }
+
+        return orders;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,173 @@
+package io.plyschik.springbootblog.security;
+
+import io.plyschik.springbootblog.exception.PasswordHashingRejectedException;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@ManagedResource(objectName = "io.plyschik.springbootblog:type=BoundedPasswordEncoder")
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final PasswordEncoder delegate;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutNanos;
+    private final LongAdder hashes = new LongAdder();
+    private final LongAdder hashTimeNanos = new LongAdder();
+    private final LongAdder rejectedHashes = new LongAdder();
+
+    public BoundedPasswordEncoder(int strength, int poolSize, int queueCapacity, Duration timeout) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.delegate = new BCryptPasswordEncoder(strength);
+        this.strength = strength;
+        this.executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+
+                return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public static int calibrate(Duration target) {
+        long targetNanos = target.toNanos();
+        int strength = MIN_STRENGTH;
+
+        // Every cost step doubles the work, so stop before the next step would overshoot the target.
+        while (strength < MAX_STRENGTH && measure(strength) * 2 <= targetNanos) {
+            strength++;
+        }
+
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    @ManagedAttribute(description = "BCrypt cost used for new hashes")
+    public int getStrength() {
+        return strength;
+    }
+
+    @ManagedAttribute(description = "Password hashes computed since startup")
+    public long getHashes() {
+        return hashes.sum();
+    }
+
+    @ManagedAttribute(description = "Total time spent hashing passwords, in nanoseconds")
+    public long getHashTimeNanos() {
+        return hashTimeNanos.sum();
+    }
+
+    @ManagedAttribute(description = "Hashes rejected because the queue was full or the timeout passed")
+    public long getRejectedHashes() {
+        return rejectedHashes.sum();
+    }
+
+    @ManagedAttribute(description = "Hashes waiting for a free hashing thread")
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @ManagedAttribute(description = "Hashes being computed right now")
+    public int getActiveHashes() {
+        return executor.getActiveCount();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    return task.call();
+                } finally {
+                    hashes.increment();
+                    hashTimeNanos.add(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            rejectedHashes.increment();
+
+            throw new PasswordHashingRejectedException();
+        }
+
+        try {
+            return future.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            future.cancel(true);
+            rejectedHashes.increment();
+
+            throw new PasswordHashingRejectedException();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+
+            throw new PasswordHashingRejectedException();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(CALIBRATION_PASSWORD);
+
+        long startedAt = System.nanoTime();
+        encoder.encode(CALIBRATION_PASSWORD);
+
+        return System.nanoTime() - startedAt;
+    }
+}
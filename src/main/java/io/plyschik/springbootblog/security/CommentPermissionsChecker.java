@@ -1,19 +1,29 @@
 package io.plyschik.springbootblog.security;
 
+import io.plyschik.springbootblog.dto.PostCommentRow;
 import io.plyschik.springbootblog.entity.Comment;
-import io.plyschik.springbootblog.exception.CommentNotFoundException;
 import io.plyschik.springbootblog.repository.CommentRepository;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Component
 @RequiredArgsConstructor
 public class CommentPermissionsChecker {
+    private static final long EDIT_WINDOW_SECONDS = 120;
+    private static final Set<String> PRIVILEGED_ROLES = Set.of("ROLE_MODERATOR", "ROLE_ADMINISTRATOR");
+
     private final CommentRepository commentRepository;
 
     public boolean checkCommentEditPermissions(Authentication authentication, Long commentId) {
@@ -21,53 +31,134 @@ public class CommentPermissionsChecker {
             return false;
         }
 
-        if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_MODERATOR"))) {
+        if (isPrivileged(authentication)) {
             return true;
         }
 
-        if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMINISTRATOR"))) {
+        return commentRepository.findById(commentId)
+            .map(comment -> getPermissions(authentication, comment, false, LocalDateTime.now()).isCanEdit())
+            .orElse(false);
+    }
+
+    public boolean checkCommentDeletePermissions(Authentication authentication, Long commentId) {
+        if (authentication == null) {
+            return false;
+        }
+
+        if (isPrivileged(authentication)) {
             return true;
         }
 
-        try {
-            Comment comment = commentRepository.findById(commentId).orElseThrow(CommentNotFoundException::new);
+        return commentRepository.findById(commentId)
+            .map(comment -> getPermissions(authentication, comment, false, LocalDateTime.now()).isCanDelete())
+            .orElse(false);
+    }
 
-            long differenceBetweenCurrentDateAndCommentCreatedDate = ChronoUnit.SECONDS.between(
-                comment.getCreatedAt(),
-                LocalDateTime.now()
-            );
+    public CommentPermissions getPermissions(Authentication authentication, Comment comment) {
+        return getPermissions(authentication, comment, isPrivileged(authentication), LocalDateTime.now());
+    }
 
-            if (comment.getUser().getEmail().equals(authentication.getName())) {
-                if (differenceBetweenCurrentDateAndCommentCreatedDate <= 120) {
-                    return true;
-                }
-            }
+    public Map<Long, CommentPermissions> getPermissions(Authentication authentication, Collection<Comment> comments) {
+        boolean privileged = isPrivileged(authentication);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, CommentPermissions> permissions = new HashMap<>();
 
-            return false;
-        } catch (CommentNotFoundException exception) {
-            return false;
+        for (Comment comment: comments) {
+            permissions.put(comment.getId(), getPermissions(authentication, comment, privileged, now));
         }
+
+        return permissions;
     }
 
-    public boolean checkCommentDeletePermissions(Authentication authentication, Long commentId) {
-        if (authentication == null) {
-            return false;
+    public Map<Long, CommentPermissions> getRowPermissions(
+        Authentication authentication,
+        Collection<PostCommentRow> rows
+    ) {
+        boolean privileged = isPrivileged(authentication);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, CommentPermissions> permissions = new HashMap<>();
+
+        for (PostCommentRow row: rows) {
+            permissions.put(row.getCommentId(), getPermissions(
+                authentication,
+                row.getUserId(),
+                row::getUserEmail,
+                row.getCreatedAt(),
+                privileged,
+                now
+            ));
         }
 
-        if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_MODERATOR"))) {
-            return true;
+        return permissions;
+    }
+
+    private static CommentPermissions getPermissions(
+        Authentication authentication,
+        Comment comment,
+        boolean privileged,
+        LocalDateTime now
+    ) {
+        return getPermissions(
+            authentication,
+            comment.getUser().getId(),
+            () -> comment.getUser().getEmail(),
+            comment.getCreatedAt(),
+            privileged,
+            now
+        );
+    }
+
+    private static CommentPermissions getPermissions(
+        Authentication authentication,
+        Long authorId,
+        Supplier<String> authorEmail,
+        LocalDateTime createdAt,
+        boolean privileged,
+        LocalDateTime now
+    ) {
+        if (authentication == null) {
+            return new CommentPermissions(false, false);
         }
 
-        if (authentication.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMINISTRATOR"))) {
-            return true;
+        if (privileged) {
+            return new CommentPermissions(true, true);
         }
 
-        try {
-            Comment comment = commentRepository.findById(commentId).orElseThrow(CommentNotFoundException::new);
+        boolean author = isAuthor(authentication, authorId, authorEmail);
+
+        return new CommentPermissions(
+            author && ChronoUnit.SECONDS.between(createdAt, now) <= EDIT_WINDOW_SECONDS,
+            author
+        );
+    }
 
-            return comment.getUser().getEmail().equals(authentication.getName());
-        } catch (CommentNotFoundException exception) {
+    private static boolean isPrivileged(Authentication authentication) {
+        if (authentication == null) {
             return false;
         }
+
+        for (GrantedAuthority authority: authentication.getAuthorities()) {
+            if (PRIVILEGED_ROLES.contains(authority.getAuthority())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isAuthor(Authentication authentication, Long authorId, Supplier<String> authorEmail) {
+        if (authentication.getPrincipal() instanceof UserPrincipal) {
+            // Comparing ids leaves a lazy user reference uninitialized.
+            return authorId != null && authorId == ((UserPrincipal) authentication.getPrincipal()).getId();
+        }
+
+        return authorEmail.get().equals(authentication.getName());
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class CommentPermissions {
+        private final boolean canEdit;
+        private final boolean canDelete;
     }
 }
@@ -0,0 +1,96 @@
+package io.plyschik.springbootblog.security;
+
+import io.plyschik.springbootblog.dto.CommentAuthor;
+import io.plyschik.springbootblog.entity.User.Role;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+@Getter
+@AllArgsConstructor
+public class UserPrincipal implements UserDetails, CredentialsContainer {
+    private final long id;
+    private final String email;
+    private String password;
+    private final String firstName;
+    private final String lastName;
+    private final Role role;
+    private final boolean activated;
+
+    public UserPrincipal copy() {
+        return new UserPrincipal(id, email, password, firstName, lastName, role, activated);
+    }
+
+    public CommentAuthor toCommentAuthor() {
+        return new CommentAuthor(id, firstName, lastName);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return Collections.singletonList(new SimpleGrantedAuthority(role.toString()));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return activated;
+    }
+
+    @Override
+    public void eraseCredentials() {
+        password = null;
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+
+        if (object == null || getClass() != object.getClass()) {
+            return false;
+        }
+
+        return email.equals(((UserPrincipal) object).email);
+    }
+
+    @Override
+    public int hashCode() {
+        return email.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "UserPrincipal{" +
+                "id=" + id +
+                ", email='" + email + '\'' +
+                ", role=" + role +
+                ", activated=" + activated +
+                '}';
+    }
+}
@@ -2,12 +2,13 @@ package io.plyschik.springbootblog.service;
 
 import io.plyschik.springbootblog.dto.CategoryDto;
 import io.plyschik.springbootblog.dto.CategoryWithPostsCount;
+import io.plyschik.springbootblog.dto.Suggestion;
 import io.plyschik.springbootblog.entity.Category;
 import io.plyschik.springbootblog.exception.CategoryAlreadyExistsException;
 import io.plyschik.springbootblog.exception.CategoryNotFoundException;
+import io.plyschik.springbootblog.mapper.CategoryMapper;
 import io.plyschik.springbootblog.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -18,8 +19,12 @@ import java.util.List;
 @Service
 @RequiredArgsConstructor
 public class CategoryService {
-    private final ModelMapper modelMapper;
+    private final CategoryMapper categoryMapper;
     private final CategoryRepository categoryRepository;
+    private final FeedCountStore feedCountStore;
+    private final TopCategoriesCache topCategoriesCache;
+    private final PageCache pageCache;
+    private final SuggestionIndex suggestionIndex;
 
     public Category getCategoryById(long id) {
         return categoryRepository.findById(id).orElseThrow(CategoryNotFoundException::new);
@@ -42,7 +47,7 @@ public class CategoryService {
     }
 
     public List<CategoryWithPostsCount> getTop5CategoriesWithPostsCount() {
-        return categoryRepository.findTop5WithPostsCount();
+        return topCategoriesCache.get(categoryRepository::findTop5WithPostsCount);
     }
 
     public void createCategory(CategoryDto categoryDto) throws CategoryAlreadyExistsException {
@@ -50,14 +55,17 @@ public class CategoryService {
             throw new CategoryAlreadyExistsException();
         }
 
-        Category category = modelMapper.map(categoryDto, Category.class);
+        Category category = categoryMapper.toEntity(categoryDto);
         categoryRepository.save(category);
+        topCategoriesCache.invalidate();
+        pageCache.evict(PageCache.sidebar());
+        suggestionIndex.put(Suggestion.category(category.getId(), category.getName()));
     }
 
     public CategoryDto getCategoryForEdit(long id) throws CategoryNotFoundException {
         Category category = categoryRepository.findById(id).orElseThrow(CategoryNotFoundException::new);
 
-        return modelMapper.map(category, CategoryDto.class);
+        return categoryMapper.toDto(category);
     }
 
     public void updateCategory(long id, CategoryDto categoryDto) throws CategoryAlreadyExistsException, CategoryNotFoundException {
@@ -66,12 +74,19 @@ public class CategoryService {
         }
 
         Category category = categoryRepository.findById(id).orElseThrow(CategoryNotFoundException::new);
-        modelMapper.map(categoryDto, category);
+        categoryMapper.update(categoryDto, category);
 
         categoryRepository.save(category);
+        topCategoriesCache.invalidate();
+        pageCache.evict(PageCache.category(id), PageCache.postLists(), PageCache.sidebar());
+        suggestionIndex.put(Suggestion.category(id, category.getName()));
     }
 
     public void deleteCategory(long id) {
         categoryRepository.deleteById(id);
+        feedCountStore.evict(FeedCountStore.publishedPostsByCategory(id));
+        topCategoriesCache.invalidate();
+        pageCache.evict(PageCache.category(id), PageCache.postLists(), PageCache.sidebar());
+        suggestionIndex.remove(Suggestion.key("category", id));
     }
 }
@@ -0,0 +1,315 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.CommentAuthor;
+import io.plyschik.springbootblog.dto.PostsCommentApiResponse;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+public class CommentIngestionQueue {
+    private static final String INSERT_COMMENT = "INSERT INTO comments (content, created_at, user_id, post_id) " +
+        "VALUES (?, ?, ?, ?)";
+
+    private final BlockingQueue<PendingComment> queue;
+    private final Map<Long, Set<PendingComment>> pendingByPost = new ConcurrentHashMap<>();
+    private final AtomicLong temporaryIds = new AtomicLong();
+    private final LongAdder flushedComments = new LongAdder();
+    private final LongAdder rejectedComments = new LongAdder();
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PostService postService;
+    private final FeedCountStore feedCountStore;
+    private final PageCache pageCache;
+    private final CommentStream commentStream;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private volatile Thread writer;
+
+    public CommentIngestionQueue(
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        PostService postService,
+        FeedCountStore feedCountStore,
+        PageCache pageCache,
+        CommentStream commentStream,
+        @Value("${blog.comment-ingestion.enabled:true}") boolean enabled,
+        @Value("${blog.comment-ingestion.queue-capacity:1000}") int queueCapacity,
+        @Value("${blog.comment-ingestion.batch-size:50}") int batchSize
+    ) {
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.postService = postService;
+        this.feedCountStore = feedCountStore;
+        this.pageCache = pageCache;
+        this.commentStream = commentStream;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+
+        writer = new Thread(this::run, "comment-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        Thread current = writer;
+        if (current == null) {
+            return;
+        }
+
+        writer = null;
+        current.interrupt();
+        current.join(TimeUnit.SECONDS.toMillis(5));
+
+        List<PendingComment> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<PendingComment> offer(long postId, String email, CommentAuthor author, String content) {
+        PendingComment comment = new PendingComment(
+            temporaryIds.decrementAndGet(),
+            postId,
+            email,
+            author,
+            content,
+            LocalDateTime.now()
+        );
+
+        pendingByPost.computeIfAbsent(postId, id -> ConcurrentHashMap.newKeySet()).add(comment);
+        if (!queue.offer(comment)) {
+            removePending(List.of(comment));
+            rejectedComments.increment();
+
+            return Optional.empty();
+        }
+
+        return Optional.of(comment);
+    }
+
+    public List<PendingComment> getPending(long postId, String email) {
+        Set<PendingComment> pending = pendingByPost.get(postId);
+        if (pending == null || email == null) {
+            return List.of();
+        }
+
+        return pending.stream()
+            .filter(comment -> comment.getEmail().equals(email))
+            .sorted(Comparator.comparing(PendingComment::getId))
+            .collect(Collectors.toList());
+    }
+
+    public long getFlushedComments() {
+        return flushedComments.sum();
+    }
+
+    public long getRejectedComments() {
+        return rejectedComments.sum();
+    }
+
+    void flushQueued() {
+        List<PendingComment> batch = new ArrayList<>(batchSize);
+
+        while (queue.drainTo(batch, batchSize) > 0) {
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    private void run() {
+        List<PendingComment> batch = new ArrayList<>(batchSize);
+
+        while (writer != null) {
+            try {
+                PendingComment first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<PendingComment> batch) {
+        try {
+            insert(batch);
+        } catch (RuntimeException exception) {
+            log.warn("Failed to insert a batch of {} comments, retrying one by one", batch.size(), exception);
+
+            // A single broken row (e.g. its post has been deleted meanwhile) must not take the batch down with it.
+            for (PendingComment comment: batch) {
+                try {
+                    insert(List.of(comment));
+                } catch (RuntimeException rowException) {
+                    log.error(
+                        "Rejected pending comment {} of post {} by {}",
+                        comment.getId(),
+                        comment.getPostId(),
+                        comment.getEmail(),
+                        rowException
+                    );
+                    reject(comment);
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingComment> batch) {
+        List<Long> ids = transactionTemplate.execute(status -> {
+            List<Long> generatedIds = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(
+                    INSERT_COMMENT,
+                    Statement.RETURN_GENERATED_KEYS
+                )) {
+                    for (PendingComment comment: batch) {
+                        statement.setString(1, comment.getContent());
+                        statement.setTimestamp(2, Timestamp.valueOf(comment.getCreatedAt()));
+                        statement.setLong(3, comment.getAuthor().getId());
+                        statement.setLong(4, comment.getPostId());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+
+                    List<Long> keys = new ArrayList<>(batch.size());
+                    try (ResultSet resultSet = statement.getGeneratedKeys()) {
+                        while (resultSet.next()) {
+                            keys.add(resultSet.getLong(1));
+                        }
+                    }
+
+                    return keys;
+                }
+            });
+
+            batch.stream()
+                .collect(Collectors.groupingBy(PendingComment::getPostId, Collectors.counting()))
+                .forEach((postId, count) -> postService.touchComments(postId, count.intValue()));
+
+            return generatedIds;
+        });
+
+        for (int i = 0; i < batch.size(); i++) {
+            PendingComment comment = batch.get(i);
+            feedCountStore.increment(List.of(FeedCountStore.commentsByPost(comment.getPostId())));
+            pageCache.evict(PageCache.post(comment.getPostId()));
+
+            if (ids != null && i < ids.size()) {
+                PostsCommentApiResponse.Comment dto = comment.toComment();
+                dto.setId(ids.get(i));
+                dto.setPending(false);
+                dto.setPendingId(comment.getId());
+                commentStream.publish(comment.getPostId(), CommentStream.CREATED, ids.get(i), dto);
+            }
+        }
+
+        flushedComments.add(batch.size());
+        removePending(batch);
+    }
+
+    private void reject(PendingComment comment) {
+        removePending(List.of(comment));
+        rejectedComments.increment();
+        commentStream.publish(
+            comment.getPostId(),
+            CommentStream.REJECTED,
+            comment.getId(),
+            Map.of("pendingId", comment.getId())
+        );
+    }
+
+    private void removePending(List<PendingComment> comments) {
+        comments.forEach(comment -> pendingByPost.computeIfPresent(comment.getPostId(), (postId, pending) -> {
+            pending.remove(comment);
+
+            return pending.isEmpty() ? null : pending;
+        }));
+    }
+
+    @Getter
+    public static class PendingComment {
+        private final long id;
+        private final long postId;
+        private final String email;
+        private final CommentAuthor author;
+        private final String content;
+        private final LocalDateTime createdAt;
+
+        private PendingComment(
+            long id,
+            long postId,
+            String email,
+            CommentAuthor author,
+            String content,
+            LocalDateTime createdAt
+        ) {
+            this.id = id;
+            this.postId = postId;
+            this.email = email;
+            this.author = author;
+            this.content = content;
+            this.createdAt = createdAt;
+        }
+
+        public PostsCommentApiResponse.Comment toComment() {
+            PostsCommentApiResponse.User user = new PostsCommentApiResponse.User();
+            user.setFirstName(author.getFirstName());
+            user.setLastName(author.getLastName());
+
+            PostsCommentApiResponse.Comment comment = new PostsCommentApiResponse.Comment();
+            comment.setId(id);
+            comment.setContent(content);
+            comment.setCreatedAt(createdAt);
+            comment.setUser(user);
+            comment.setPending(true);
+
+            return comment;
+        }
+    }
+}
@@ -1,31 +1,41 @@
 package io.plyschik.springbootblog.service;
 
+import io.plyschik.springbootblog.dto.CommentAuthor;
 import io.plyschik.springbootblog.dto.CommentDto;
+import io.plyschik.springbootblog.dto.PostCommentRow;
 import io.plyschik.springbootblog.dto.PostsCommentApiResponse;
 import io.plyschik.springbootblog.entity.Comment;
 import io.plyschik.springbootblog.exception.CommentNotFoundException;
 import io.plyschik.springbootblog.exception.PostNotFoundException;
 import io.plyschik.springbootblog.exception.UserNotFoundException;
+import io.plyschik.springbootblog.mapper.CommentMapper;
 import io.plyschik.springbootblog.repository.CommentRepository;
 import io.plyschik.springbootblog.security.CommentPermissionsChecker;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
-    private final ModelMapper modelMapper;
+    private final CommentMapper commentMapper;
     private final UserService userService;
     private final PostService postService;
     private final CommentRepository commentRepository;
     private final CommentPermissionsChecker commentPermissionsChecker;
+    private final FeedCountStore feedCountStore;
+    private final PageCache pageCache;
+    private final CommentStream commentStream;
+    private final CommentIngestionQueue commentIngestionQueue;
 
     public PostsCommentApiResponse getCommentsByPostId(
         long postId,
@@ -36,31 +46,37 @@ public class CommentService {
             throw new PostNotFoundException();
         }
 
-        Page<Comment> commentsFromDatabase = commentRepository.findAllByPostId(postId, pageable);
+        long commentsCount = feedCountStore.getCount(
+            FeedCountStore.commentsByPost(postId),
+            () -> commentRepository.countByPostId(postId)
+        );
+        Page<Comment> commentsFromDatabase = new PageImpl<>(
+            commentRepository.findAllByPostId(postId, pageable),
+            pageable,
+            commentsCount
+        );
+        Map<Long, CommentPermissionsChecker.CommentPermissions> permissions = commentPermissionsChecker.getPermissions(
+            authentication,
+            commentsFromDatabase.getContent()
+        );
         List<PostsCommentApiResponse.Comment> comments = commentsFromDatabase.stream()
             .map(comment -> {
-                PostsCommentApiResponse.Comment commentDto = modelMapper.map(
-                    comment,
-                    PostsCommentApiResponse.Comment.class
-                );
-                commentDto.setCanEdit(commentPermissionsChecker.checkCommentEditPermissions(
-                    authentication,
-                    comment.getId()
-                ));
-                commentDto.setCanDelete(commentPermissionsChecker.checkCommentDeletePermissions(
-                    authentication,
-                    comment.getId()
-                ));
+                PostsCommentApiResponse.Comment commentDto = commentMapper.toApiResponse(comment);
+                applyPermissions(commentDto, permissions.get(comment.getId()));
 
                 return commentDto;
             })
             .collect(Collectors.toList());
+        List<PostsCommentApiResponse.Comment> pendingComments = getPendingComments(postId, authentication);
+        if (pageable.isUnpaged() || pageable.getPageNumber() == 0) {
+            comments.addAll(0, pendingComments);
+        }
 
         PostsCommentApiResponse.Pagination pagination = PostsCommentApiResponse.Pagination.builder()
             .currentPage(commentsFromDatabase.getNumber())
             .totalPages(commentsFromDatabase.getTotalPages())
             .numberOfElements(commentsFromDatabase.getNumberOfElements())
-            .totalElements(commentsFromDatabase.getTotalElements())
+            .totalElements(commentsFromDatabase.getTotalElements() + pendingComments.size())
             .pageSize(commentsFromDatabase.getSize())
             .hasPreviousPage(commentsFromDatabase.hasPrevious())
             .hasNextPage(commentsFromDatabase.hasNext())
@@ -72,19 +88,99 @@ public class CommentService {
             .build();
     }
 
+    public PostsCommentApiResponse getCommentsByPostIdBefore(
+        long postId,
+        Long before,
+        int limit,
+        Authentication authentication
+    ) throws PostNotFoundException {
+        List<PostCommentRow> rows = commentRepository.findAllByPostIdAndIdLessThan(
+            postId,
+            before != null ? before : Long.MAX_VALUE,
+            PageRequest.of(0, limit + 1)
+        );
+        if (rows.isEmpty()) {
+            throw new PostNotFoundException();
+        }
+
+        List<PostCommentRow> commentsFromDatabase = rows.stream()
+            .filter(row -> row.getCommentId() != null)
+            .collect(Collectors.toList());
+        boolean hasNextPage = commentsFromDatabase.size() > limit;
+        if (hasNextPage) {
+            commentsFromDatabase = commentsFromDatabase.subList(0, limit);
+        }
+
+        Map<Long, CommentPermissionsChecker.CommentPermissions> permissions = commentPermissionsChecker.getRowPermissions(
+            authentication,
+            commentsFromDatabase
+        );
+        List<PostsCommentApiResponse.Comment> comments = commentsFromDatabase.stream()
+            .map(row -> {
+                PostsCommentApiResponse.Comment commentDto = commentMapper.toApiResponse(row);
+                applyPermissions(commentDto, permissions.get(row.getCommentId()));
+
+                return commentDto;
+            })
+            .collect(Collectors.toList());
+        List<PostsCommentApiResponse.Comment> pendingComments = getPendingComments(postId, authentication);
+        if (before == null) {
+            comments.addAll(0, pendingComments);
+        }
+
+        PostsCommentApiResponse.Cursor cursor = PostsCommentApiResponse.Cursor.builder()
+            .nextCursor(hasNextPage ? commentsFromDatabase.get(commentsFromDatabase.size() - 1).getCommentId() : null)
+            .limit(limit)
+            .totalElements(rows.get(0).getPostCommentsCount() + pendingComments.size())
+            .hasNextPage(hasNextPage)
+            .build();
+
+        return PostsCommentApiResponse.builder()
+            .comments(comments)
+            .cursor(cursor)
+            .build();
+    }
+
+    public boolean hasPendingComments(long postId, Authentication authentication) {
+        return !getPendingComments(postId, authentication).isEmpty();
+    }
+
     public PostsCommentApiResponse.Comment createComment(
         long postId,
         CommentDto commentDto,
         Authentication authentication
     ) throws UserNotFoundException, PostNotFoundException {
-        Comment comment = modelMapper.map(commentDto, Comment.class);
-        comment.setUser(userService.getUserByEmail(authentication.getName()));
+        if (commentIngestionQueue.isEnabled()) {
+            CommentAuthor author = userService.getCommentAuthor(authentication);
+            if (!postService.existsById(postId)) {
+                throw new PostNotFoundException();
+            }
+
+            Optional<CommentIngestionQueue.PendingComment> pending = commentIngestionQueue.offer(
+                postId,
+                authentication.getName(),
+                author,
+                commentDto.getContent()
+            );
+            if (pending.isPresent()) {
+                return pending.get().toComment();
+            }
+        }
+
+        Comment comment = commentMapper.toEntity(commentDto);
+        comment.setUser(userService.getUserReference(authentication));
         comment.setPost(postService.getPostById(postId));
         commentRepository.save(comment);
+        feedCountStore.increment(List.of(FeedCountStore.commentsByPost(postId)));
+        postService.touchComments(postId, 1);
+        pageCache.evict(PageCache.post(postId));
 
-        PostsCommentApiResponse.Comment dto = modelMapper.map(comment, PostsCommentApiResponse.Comment.class);
-        dto.setCanEdit(commentPermissionsChecker.checkCommentEditPermissions(authentication, comment.getId()));
-        dto.setCanDelete(commentPermissionsChecker.checkCommentDeletePermissions(authentication, comment.getId()));
+        PostsCommentApiResponse.Comment dto = commentMapper.toApiResponse(
+            comment,
+            userService.getCommentAuthor(authentication)
+        );
+        commentStream.publish(postId, CommentStream.CREATED, comment.getId(), dto);
+        applyPermissions(dto, commentPermissionsChecker.getPermissions(authentication, comment));
 
         return dto;
     }
@@ -95,19 +191,44 @@ public class CommentService {
         Authentication authentication
     ) throws CommentNotFoundException {
         Comment comment = commentRepository.findById(commentId).orElseThrow(CommentNotFoundException::new);
-        modelMapper.map(commentDto, comment);
+        commentMapper.update(commentDto, comment);
 
-        PostsCommentApiResponse.Comment dto = modelMapper.map(
-            commentRepository.save(comment),
-            PostsCommentApiResponse.Comment.class
-        );
-        dto.setCanEdit(commentPermissionsChecker.checkCommentEditPermissions(authentication, comment.getId()));
-        dto.setCanDelete(commentPermissionsChecker.checkCommentDeletePermissions(authentication, comment.getId()));
+        PostsCommentApiResponse.Comment dto = commentMapper.toApiResponse(commentRepository.save(comment));
+        postService.touchComments(comment.getPost().getId(), 0);
+        pageCache.evict(PageCache.post(comment.getPost().getId()));
+        commentStream.publish(comment.getPost().getId(), CommentStream.UPDATED, commentId, dto);
+        applyPermissions(dto, commentPermissionsChecker.getPermissions(authentication, comment));
 
         return dto;
     }
 
     public void deleteCommentById(long id) {
+        Optional<Long> postId = commentRepository.findPostIdById(id);
         commentRepository.deleteById(id);
+
+        postId.ifPresent(value -> {
+            feedCountStore.decrement(List.of(FeedCountStore.commentsByPost(value)));
+            postService.touchComments(value, -1);
+            pageCache.evict(PageCache.post(value));
+            commentStream.publish(value, CommentStream.DELETED, id, Map.of("id", id));
+        });
+    }
+
+    private List<PostsCommentApiResponse.Comment> getPendingComments(long postId, Authentication authentication) {
+        if (authentication == null) {
+            return List.of();
+        }
+
+        return commentIngestionQueue.getPending(postId, authentication.getName()).stream()
+            .map(CommentIngestionQueue.PendingComment::toComment)
+            .collect(Collectors.toList());
+    }
+
+    private static void applyPermissions(
+        PostsCommentApiResponse.Comment dto,
+        CommentPermissionsChecker.CommentPermissions permissions
+    ) {
+        dto.setCanEdit(permissions.isCanEdit());
+        dto.setCanDelete(permissions.isCanDelete());
     }
 }
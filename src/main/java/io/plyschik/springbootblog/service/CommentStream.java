@@ -0,0 +1,202 @@
+package io.plyschik.springbootblog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+public class CommentStream {
+    public static final String CREATED = "created";
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String REJECTED = "rejected";
+
+    private static final MediaType DATA_MEDIA_TYPE = new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+    private static final Event HEARTBEAT = new Event(null, null, null);
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final LongAdder droppedSubscribers = new LongAdder();
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long timeoutMillis;
+
+    public CommentStream(
+        ObjectMapper objectMapper,
+        @Value("${blog.comment-stream.pool-size:2}") int poolSize,
+        @Value("${blog.comment-stream.queue-capacity:32}") int queueCapacity,
+        @Value("${blog.comment-stream.timeout:PT30M}") Duration timeout
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.objectMapper = objectMapper;
+        this.executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            runnable -> {
+                Thread thread = new Thread(runnable, "comment-stream-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+
+                return thread;
+            }
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.queueCapacity = queueCapacity;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    public SseEmitter subscribe(long postId) {
+        return subscribe(postId, new SseEmitter(timeoutMillis));
+    }
+
+    SseEmitter subscribe(long postId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(postId, emitter, queueCapacity);
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(throwable -> unsubscribe(subscriber));
+        subscribers.computeIfAbsent(postId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        return emitter;
+    }
+
+    public void publish(long postId, String name, long commentId, Object payload) {
+        Set<Subscriber> postSubscribers = subscribers.get(postId);
+        if (postSubscribers == null || postSubscribers.isEmpty()) {
+            return;
+        }
+
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalStateException(exception);
+        }
+
+        Event event = new Event(String.valueOf(commentId), name, data);
+        postSubscribers.forEach(subscriber -> offer(subscriber, event));
+    }
+
+    @Scheduled(
+        fixedDelayString = "${blog.comment-stream.heartbeat-interval:30000}",
+        initialDelayString = "${blog.comment-stream.heartbeat-interval:30000}"
+    )
+    public void heartbeat() {
+        subscribers.values().forEach(postSubscribers -> postSubscribers.forEach(
+            subscriber -> offer(subscriber, HEARTBEAT)
+        ));
+    }
+
+    public int getSubscribersCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public long getDroppedSubscribers() {
+        return droppedSubscribers.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        subscribers.values().forEach(postSubscribers -> postSubscribers.forEach(
+            subscriber -> subscriber.emitter.complete()
+        ));
+        subscribers.clear();
+    }
+
+    private void offer(Subscriber subscriber, Event event) {
+        if (!subscriber.queue.offer(event)) {
+            droppedSubscribers.increment();
+            unsubscribe(subscriber);
+            subscriber.emitter.complete();
+
+            return;
+        }
+
+        if (subscriber.scheduled.compareAndSet(false, true)) {
+            executor.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            Event event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event.toSseEvent());
+                } catch (IOException | IllegalStateException exception) {
+                    unsubscribe(subscriber);
+                    subscriber.queue.clear();
+
+                    return;
+                }
+            }
+
+            subscriber.scheduled.set(false);
+        } while (!subscriber.queue.isEmpty() && subscriber.scheduled.compareAndSet(false, true));
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.postId, (postId, postSubscribers) -> {
+            postSubscribers.remove(subscriber);
+
+            return postSubscribers.isEmpty() ? null : postSubscribers;
+        });
+    }
+
+    private static class Subscriber {
+        private final long postId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Event> queue;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Subscriber(long postId, SseEmitter emitter, int queueCapacity) {
+            this.postId = postId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+
+    private static class Event {
+        private final String id;
+        private final String name;
+        private final String data;
+
+        private Event(String id, String name, String data) {
+            this.id = id;
+            this.name = name;
+            this.data = data;
+        }
+
+        private SseEmitter.SseEventBuilder toSseEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+
+            return SseEmitter.event().id(id).name(name).data(data, DATA_MEDIA_TYPE);
+        }
+    }
+}
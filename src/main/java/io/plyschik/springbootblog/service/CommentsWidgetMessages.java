@@ -0,0 +1,60 @@
+package io.plyschik.springbootblog.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+@Component
+public class CommentsWidgetMessages {
+    private static final Map<String, String> MESSAGE_CODES = new LinkedHashMap<>();
+
+    static {
+        MESSAGE_CODES.put("loading", "message.comments.loading");
+        MESSAGE_CODES.put("only_authenticated_users_can_create_comments", "message.only_authenticated_users_can_create_comments");
+        MESSAGE_CODES.put("empty_list", "message.comments.empty_list");
+        MESSAGE_CODES.put("comments", "header.comments");
+        MESSAGE_CODES.put("comment", "label.comment");
+        MESSAGE_CODES.put("create", "label.create");
+        MESSAGE_CODES.put("comment_edit", "header.comment_edit");
+        MESSAGE_CODES.put("update", "label.update");
+        MESSAGE_CODES.put("cancel", "label.cancel");
+        MESSAGE_CODES.put("confirmation", "label.confirmation");
+        MESSAGE_CODES.put("delete_message", "header.comment.delete");
+        MESSAGE_CODES.put("confirm", "label.confirm");
+        MESSAGE_CODES.put("load_more", "label.load_more");
+        MESSAGE_CODES.put("edit", "label.edit");
+        MESSAGE_CODES.put("delete", "label.delete");
+    }
+
+    private final Map<String, String> bundles = new LinkedHashMap<>();
+    private final String defaultLanguage;
+
+    public CommentsWidgetMessages(
+        MessageSource messageSource,
+        ObjectMapper objectMapper,
+        @Value("${blog.i18n.supported-languages:en,pl}") List<String> supportedLanguages
+    ) throws JsonProcessingException {
+        for (String language: supportedLanguages) {
+            Locale locale = new Locale(language);
+            Map<String, String> messages = new LinkedHashMap<>();
+
+            MESSAGE_CODES.forEach((key, code) -> messages.put(key, messageSource.getMessage(code, null, locale)));
+            bundles.put(language, objectMapper.writeValueAsString(messages));
+        }
+
+        this.defaultLanguage = supportedLanguages.get(0);
+    }
+
+    public String getJson(Locale locale) {
+        String bundle = bundles.get(locale.getLanguage());
+
+        return bundle != null ? bundle : bundles.get(defaultLanguage);
+    }
+}
@@ -0,0 +1,149 @@
+package io.plyschik.springbootblog.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+@Component
+public class FeedCountStore {
+    private static final String COMMENTS_PREFIX = "comments:";
+
+    private final int maxEntries;
+    private final Map<String, Entry> counts;
+
+    public FeedCountStore(@Value("${blog.feed-counts.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.counts = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > FeedCountStore.this.maxEntries;
+            }
+        };
+    }
+
+    public static String publishedPosts() {
+        return "posts";
+    }
+
+    public static String publishedPostsByUser(long userId) {
+        return "posts:user:" + userId;
+    }
+
+    public static String publishedPostsByCategory(long categoryId) {
+        return "posts:category:" + categoryId;
+    }
+
+    public static String publishedPostsByTag(long tagId) {
+        return "posts:tag:" + tagId;
+    }
+
+    public static String publishedPostsByMonth(YearMonth month) {
+        return "posts:month:" + month;
+    }
+
+    public static String commentsByPost(long postId) {
+        return "comments:post:" + postId;
+    }
+
+    public long getCount(String key, LongSupplier counter) {
+        synchronized (this) {
+            Entry entry = counts.get(key);
+            if (entry != null) {
+                return entry.value.get();
+            }
+        }
+
+        long value = counter.getAsLong();
+
+        synchronized (this) {
+            Entry entry = counts.get(key);
+            if (entry != null) {
+                return entry.value.get();
+            }
+
+            counts.put(key, new Entry(counter, value));
+        }
+
+        return value;
+    }
+
+    public void increment(Collection<String> keys) {
+        afterCommit(() -> keys.forEach(key -> add(key, 1)));
+    }
+
+    public void decrement(Collection<String> keys) {
+        afterCommit(() -> keys.forEach(key -> add(key, -1)));
+    }
+
+    public void evict(String key) {
+        remove(key);
+        afterCommit(() -> remove(key));
+    }
+
+    public synchronized int getSize() {
+        return counts.size();
+    }
+
+    @Scheduled(
+        fixedDelayString = "${blog.feed-counts.reconciliation-interval:600000}",
+        initialDelayString = "${blog.feed-counts.reconciliation-interval:600000}"
+    )
+    public void reconcile() {
+        List<Entry> entries;
+
+        synchronized (this) {
+            // Per-post comment counts are too many to recount; dropping them makes the next read load a fresh value.
+            counts.keySet().removeIf(key -> key.startsWith(COMMENTS_PREFIX));
+            entries = new ArrayList<>(counts.values());
+        }
+
+        entries.forEach(entry -> entry.value.set(entry.counter.getAsLong()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private synchronized void add(String key, long delta) {
+        Entry entry = counts.get(key);
+        if (entry != null) {
+            entry.value.addAndGet(delta);
+        }
+    }
+
+    private synchronized void remove(String key) {
+        counts.remove(key);
+    }
+
+    private static class Entry {
+        private final LongSupplier counter;
+        private final AtomicLong value;
+
+        private Entry(LongSupplier counter, long value) {
+            this.counter = counter;
+            this.value = new AtomicLong(value);
+        }
+    }
+}
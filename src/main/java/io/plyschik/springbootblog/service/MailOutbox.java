@@ -0,0 +1,168 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.entity.OutboxMail;
+import io.plyschik.springbootblog.repository.OutboxMailRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import javax.mail.MessagingException;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class MailOutbox {
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final OutboxMailRepository outboxMailRepository;
+    private final JavaMailSender mailSender;
+    private final ITemplateEngine templateEngine;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final LongAdder sentMails = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+
+    public MailOutbox(
+        OutboxMailRepository outboxMailRepository,
+        JavaMailSender mailSender,
+        ITemplateEngine templateEngine,
+        PlatformTransactionManager transactionManager,
+        @Value("${blog.mail.batch-size:20}") int batchSize,
+        @Value("${blog.mail.max-attempts:8}") int maxAttempts,
+        @Value("${blog.mail.retry-delay:PT30S}") Duration retryDelay
+    ) {
+        this.outboxMailRepository = outboxMailRepository;
+        this.mailSender = mailSender;
+        this.templateEngine = templateEngine;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    public void enqueue(String recipient, String subject, String template, Map<String, String> variables) {
+        OutboxMail mail = new OutboxMail();
+        mail.setRecipient(recipient);
+        mail.setSubject(subject);
+        mail.setTemplate(template);
+        mail.setVariables(variables);
+        mail.setNextAttemptAt(LocalDateTime.now());
+
+        outboxMailRepository.save(mail);
+    }
+
+    @Scheduled(
+        fixedDelayString = "${blog.mail.dispatch-interval:5000}",
+        initialDelayString = "${blog.mail.dispatch-interval:5000}"
+    )
+    public void dispatch() {
+        List<OutboxMail> batch;
+
+        do {
+            batch = outboxMailRepository.findAllDue(LocalDateTime.now(), maxAttempts, PageRequest.of(0, batchSize));
+            if (!batch.isEmpty()) {
+                send(batch);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    public long getSentMails() {
+        return sentMails.sum();
+    }
+
+    public long getFailedAttempts() {
+        return failedAttempts.sum();
+    }
+
+    private void send(List<OutboxMail> batch) {
+        Map<OutboxMail, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, OutboxMail> messages = new IdentityHashMap<>();
+
+        for (OutboxMail mail: batch) {
+            try {
+                messages.put(render(mail), mail);
+            } catch (MessagingException | RuntimeException exception) {
+                failures.put(mail, exception);
+            }
+        }
+
+        if (!messages.isEmpty()) {
+            try {
+                // JavaMailSenderImpl delivers the whole array over a single SMTP connection.
+                mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+            } catch (MailSendException exception) {
+                if (exception.getFailedMessages().isEmpty()) {
+                    messages.values().forEach(mail -> failures.put(mail, exception));
+                }
+
+                exception.getFailedMessages().forEach((message, cause) -> {
+                    OutboxMail mail = messages.get(message);
+                    if (mail != null) {
+                        failures.put(mail, cause);
+                    }
+                });
+            } catch (MailException exception) {
+                messages.values().forEach(mail -> failures.put(mail, exception));
+            }
+        }
+
+        List<OutboxMail> sent = new ArrayList<>();
+        for (OutboxMail mail: batch) {
+            Exception failure = failures.get(mail);
+            if (failure == null) {
+                sent.add(mail);
+
+                continue;
+            }
+
+            mail.setAttempts(mail.getAttempts() + 1);
+            mail.setNextAttemptAt(LocalDateTime.now().plus(getRetryDelay(mail.getAttempts())));
+            mail.setLastError(truncate(String.valueOf(failure.getMessage())));
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            outboxMailRepository.deleteAll(sent);
+            outboxMailRepository.saveAll(failures.keySet());
+        });
+        sentMails.add(sent.size());
+        failedAttempts.add(failures.size());
+    }
+
+    private MimeMessage render(OutboxMail mail) throws MessagingException {
+        Context context = new Context();
+        mail.getVariables().forEach(context::setVariable);
+
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(message, "utf-8");
+        mimeMessageHelper.setTo(mail.getRecipient());
+        mimeMessageHelper.setSubject(mail.getSubject());
+        mimeMessageHelper.setText(templateEngine.process(mail.getTemplate(), context), true);
+
+        return message;
+    }
+
+    private Duration getRetryDelay(int attempts) {
+        return retryDelay.multipliedBy(1L << Math.min(attempts - 1, 10));
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+}
@@ -1,15 +1,215 @@
 package io.plyschik.springbootblog.service;
 
-import org.commonmark.node.Node;
+import io.plyschik.springbootblog.dto.PostHeading;
+import org.commonmark.node.*;
 import org.commonmark.parser.Parser;
 import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
 
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@ManagedResource(objectName = "io.plyschik.springbootblog:type=MarkdownToHTMLParser")
 public class MarkdownToHTMLParser {
-    public static String parse(String text) {
-        Parser parser = Parser.builder().build();
+    private static final int EXCERPT_LENGTH = 300;
+    private static final int WORDS_PER_MINUTE = 200;
+    private static final int MAX_POOLED_BUFFER_CAPACITY = 256 * 1024;
+
+    private static final ThreadLocal<DocumentAnalyzer> CURRENT_ANALYZER = new ThreadLocal<>();
+    private static final ThreadLocal<StringBuilder> OUTPUT_BUFFER = ThreadLocal.withInitial(StringBuilder::new);
+
+    private final Parser parser = Parser.builder().build();
+    private final HtmlRenderer renderer = HtmlRenderer.builder()
+        .attributeProviderFactory(context -> (node, tagName, attributes) -> {
+            String anchor = CURRENT_ANALYZER.get().anchors.get(node);
+            if (anchor != null) {
+                attributes.put("id", anchor);
+            }
+        })
+        .build();
+    private final int maxEntries;
+    private final Map<String, RenderedMarkdown> cache;
+    private final LongAdder renders = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder renderTimeNanos = new LongAdder();
+
+    public MarkdownToHTMLParser(@Value("${blog.cache.markdown.max-entries:500}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RenderedMarkdown> eldest) {
+                return size() > MarkdownToHTMLParser.this.maxEntries;
+            }
+        };
+    }
+
+    public RenderedMarkdown render(String text) {
+        String key = DigestUtils.md5DigestAsHex(text.getBytes(StandardCharsets.UTF_8)) + ":" + text.length();
+
+        synchronized (cache) {
+            RenderedMarkdown cached = cache.get(key);
+            if (cached != null) {
+                cacheHits.increment();
+
+                return cached;
+            }
+        }
+
+        long startedAt = System.nanoTime();
+        RenderedMarkdown renderedMarkdown = renderDocument(text);
+        renderTimeNanos.add(System.nanoTime() - startedAt);
+        renders.increment();
+
+        synchronized (cache) {
+            cache.put(key, renderedMarkdown);
+        }
+
+        return renderedMarkdown;
+    }
+
+    @ManagedAttribute(description = "Markdown documents rendered since startup")
+    public long getRenders() {
+        return renders.sum();
+    }
+
+    @ManagedAttribute(description = "Renders served from the rendered Markdown cache")
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @ManagedAttribute(description = "Total time spent rendering Markdown, in nanoseconds")
+    public long getRenderTimeNanos() {
+        return renderTimeNanos.sum();
+    }
+
+    private RenderedMarkdown renderDocument(String text) {
         Node document = parser.parse(text);
-        HtmlRenderer renderer = HtmlRenderer.builder().build();
 
-        return renderer.render(document);
+        DocumentAnalyzer analyzer = new DocumentAnalyzer();
+        document.accept(analyzer);
+
+        StringBuilder output = OUTPUT_BUFFER.get();
+        String html;
+
+        CURRENT_ANALYZER.set(analyzer);
+        try {
+            renderer.render(document, output);
+            html = output.toString();
+        } finally {
+            CURRENT_ANALYZER.remove();
+            output.setLength(0);
+
+            if (output.capacity() > MAX_POOLED_BUFFER_CAPACITY) {
+                OUTPUT_BUFFER.remove();
+            }
+        }
+
+        int wordCount = countWords(analyzer.plainText.toString());
+
+        return new RenderedMarkdown(
+            html,
+            createExcerpt(analyzer.excerptText.toString()),
+            wordCount,
+            Math.max(1, (int) Math.ceil((double) wordCount / WORDS_PER_MINUTE)),
+            List.copyOf(analyzer.outline)
+        );
+    }
+
+    private static int countWords(String text) {
+        String trimmed = text.trim();
+
+        return trimmed.isEmpty() ? 0 : trimmed.split("\\s+").length;
+    }
+
+    private static String createExcerpt(String text) {
+        String normalized = text.trim().replaceAll("\\s+", " ");
+        if (normalized.length() <= EXCERPT_LENGTH) {
+            return normalized;
+        }
+
+        int end = normalized.lastIndexOf(' ', EXCERPT_LENGTH);
+        if (end <= 0) {
+            end = EXCERPT_LENGTH;
+        }
+
+        return normalized.substring(0, end) + "…";
+    }
+
+    private static String textOf(Node node) {
+        StringBuilder builder = new StringBuilder();
+        node.accept(new AbstractVisitor() {
+            @Override
+            public void visit(Text text) {
+                builder.append(text.getLiteral());
+            }
+
+            @Override
+            public void visit(Code code) {
+                builder.append(code.getLiteral());
+            }
+
+            @Override
+            public void visit(SoftLineBreak softLineBreak) {
+                builder.append(' ');
+            }
+
+            @Override
+            public void visit(HardLineBreak hardLineBreak) {
+                builder.append(' ');
+            }
+        });
+
+        return builder.toString().trim();
+    }
+
+    private static class DocumentAnalyzer extends AbstractVisitor {
+        private final StringBuilder plainText = new StringBuilder();
+        private final StringBuilder excerptText = new StringBuilder();
+        private final List<PostHeading> outline = new ArrayList<>();
+        private final Map<Node, String> anchors = new IdentityHashMap<>();
+        private final Set<String> usedAnchors = new HashSet<>();
+
+        @Override
+        public void visit(Heading heading) {
+            String text = textOf(heading);
+            String anchor = createUniqueAnchor(text);
+
+            anchors.put(heading, anchor);
+            outline.add(new PostHeading(heading.getLevel(), text, anchor));
+            plainText.append(text).append(' ');
+        }
+
+        @Override
+        public void visit(Paragraph paragraph) {
+            String text = textOf(paragraph);
+
+            plainText.append(text).append(' ');
+            if (excerptText.length() <= EXCERPT_LENGTH) {
+                excerptText.append(text).append(' ');
+            }
+        }
+
+        private String createUniqueAnchor(String text) {
+            String slug = text.toLowerCase(Locale.ROOT)
+                .replaceAll("[^\\p{L}\\p{N}]+", "-")
+                .replaceAll("^-+|-+$", "");
+
+            if (slug.isEmpty()) {
+                slug = "section";
+            }
+
+            String anchor = slug;
+            for (int i = 1; !usedAnchors.add(anchor); i++) {
+                anchor = slug + "-" + i;
+            }
+
+            return anchor;
+        }
     }
 }
@@ -0,0 +1,262 @@
+package io.plyschik.springbootblog.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Component
+public class PageCache {
+    public static final String DEPENDENCIES_ATTRIBUTE = PageCache.class.getName() + ".dependencies";
+
+    private final long maxSize;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByDependency = new HashMap<>();
+    private final Map<String, Instant> lastModifiedByDependency = new ConcurrentHashMap<>();
+    private final Instant startedAt = Instant.now();
+    private long size;
+
+    public PageCache(@Value("${blog.page-cache.max-size:32MB}") DataSize maxSize) {
+        this.maxSize = maxSize.toBytes();
+    }
+
+    public static String sidebar() {
+        return "sidebar";
+    }
+
+    public static String postLists() {
+        return "posts";
+    }
+
+    public static String post(long postId) {
+        return "post:" + postId;
+    }
+
+    public static String category(long categoryId) {
+        return "category:" + categoryId;
+    }
+
+    public static String tag(long tagId) {
+        return "tag:" + tagId;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static void dependsOn(String... dependencies) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes == null) {
+            return;
+        }
+
+        Object collected = requestAttributes.getAttribute(DEPENDENCIES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (collected instanceof Set) {
+            ((Set<String>) collected).addAll(Arrays.asList(dependencies));
+        }
+    }
+
+    public synchronized Optional<Page> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        byte[] compressed = new byte[entry.content.remaining()];
+        entry.content.duplicate().get(compressed);
+
+        return Optional.of(new Page(entry.contentType, entry.eTag, entry.lastModified, compressed));
+    }
+
+    public Instant getLastModified(String... dependencies) {
+        Instant lastModified = startedAt;
+        for (String dependency: dependencies) {
+            Instant modified = lastModifiedByDependency.get(dependency);
+
+            if (modified != null && modified.isAfter(lastModified)) {
+                lastModified = modified;
+            }
+        }
+
+        return lastModified;
+    }
+
+    public void put(
+        String key,
+        String contentType,
+        String eTag,
+        long lastModified,
+        byte[] content,
+        Set<String> dependencies
+    ) {
+        byte[] compressed = compress(content);
+        if (compressed.length > maxSize) {
+            return;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocateDirect(compressed.length);
+        buffer.put(compressed).flip();
+
+        synchronized (this) {
+            remove(key);
+            entries.put(key, new Entry(
+                contentType,
+                eTag,
+                lastModified,
+                buffer.asReadOnlyBuffer(),
+                Set.copyOf(dependencies)
+            ));
+            dependencies.forEach(dependency ->
+                keysByDependency.computeIfAbsent(dependency, ignored -> new HashSet<>()).add(key)
+            );
+            size += compressed.length;
+
+            while (size > maxSize) {
+                remove(entries.keySet().iterator().next());
+            }
+        }
+    }
+
+    public void evict(String... dependencies) {
+        evict(Arrays.asList(dependencies));
+    }
+
+    public void evict(Collection<String> dependencies) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<String> pending = List.copyOf(dependencies);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(pending);
+                }
+            });
+        }
+
+        evictNow(dependencies);
+    }
+
+    public synchronized long getSize() {
+        return size;
+    }
+
+    private synchronized void evictNow(Collection<String> dependencies) {
+        Instant now = Instant.now();
+        dependencies.forEach(dependency -> {
+            lastModifiedByDependency.put(dependency, now);
+
+            Set<String> keys = keysByDependency.remove(dependency);
+            if (keys != null) {
+                keys.forEach(this::remove);
+            }
+        });
+    }
+
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return;
+        }
+
+        size -= entry.content.capacity();
+        entry.dependencies.forEach(dependency -> {
+            Set<String> keys = keysByDependency.get(dependency);
+            if (keys != null) {
+                keys.remove(key);
+
+                if (keys.isEmpty()) {
+                    keysByDependency.remove(dependency);
+                }
+            }
+        });
+    }
+
+    private static byte[] compress(byte[] content) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream(content.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            gzip.write(content);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        return output.toByteArray();
+    }
+
+    public static byte[] decompress(byte[] compressed) {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    public static class Page {
+        private final String contentType;
+        private final String eTag;
+        private final long lastModified;
+        private final byte[] compressedContent;
+
+        private Page(String contentType, String eTag, long lastModified, byte[] compressedContent) {
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.compressedContent = compressedContent;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getETag() {
+            return eTag;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public byte[] getCompressedContent() {
+            return compressedContent;
+        }
+    }
+
+    private static class Entry {
+        private final String contentType;
+        private final String eTag;
+        private final long lastModified;
+        private final ByteBuffer content;
+        private final Set<String> dependencies;
+
+        private Entry(
+            String contentType,
+            String eTag,
+            long lastModified,
+            ByteBuffer content,
+            Set<String> dependencies
+        ) {
+            this.contentType = contentType;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.content = content;
+            this.dependencies = dependencies;
+        }
+    }
+}
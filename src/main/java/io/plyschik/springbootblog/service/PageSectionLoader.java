@@ -0,0 +1,106 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.exception.PageSectionTimeoutException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+@Component
+public class PageSectionLoader {
+    private final ThreadPoolExecutor executor;
+    private final TransactionTemplate transactionTemplate;
+    private final long timeoutNanos;
+
+    public PageSectionLoader(
+        PlatformTransactionManager transactionManager,
+        @Value("${blog.page-sections.pool-size:8}") int poolSize,
+        @Value("${blog.page-sections.queue-capacity:100}") int queueCapacity,
+        @Value("${blog.page-sections.timeout:PT5S}") Duration timeout
+    ) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+                Thread thread = new Thread(runnable, "page-section-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+        this.executor.allowCoreThreadTimeOut(true);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Cancelling the future does not stop a running query, the transaction timeout becomes a JDBC query timeout.
+        this.transactionTemplate.setTimeout((int) Math.max(1, (timeout.toMillis() + 999) / 1000));
+        this.timeoutNanos = timeout.toNanos();
+    }
+
+    public <T> CompletableFuture<T> load(Supplier<T> section) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            try {
+                return CompletableFuture.completedFuture(section.get());
+            } catch (RuntimeException exception) {
+                return CompletableFuture.failedFuture(exception);
+            }
+        }
+
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> section.get()), executor);
+    }
+
+    public <T> T join(CompletableFuture<T> section) {
+        try {
+            return section.get(timeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException exception) {
+            section.cancel(true);
+
+            throw new PageSectionTimeoutException();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            section.cancel(true);
+
+            throw new PageSectionTimeoutException();
+        } catch (ExecutionException exception) {
+            Throwable cause = exception.getCause();
+
+            if (cause instanceof QueryTimeoutException || cause instanceof TransactionTimedOutException) {
+                throw new PageSectionTimeoutException();
+            }
+
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
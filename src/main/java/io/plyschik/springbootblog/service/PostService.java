@@ -1,37 +1,72 @@
 package io.plyschik.springbootblog.service;
 
+import io.plyschik.springbootblog.dto.CursorPage;
 import io.plyschik.springbootblog.dto.PostCountByYearAndMonthDto;
 import io.plyschik.springbootblog.dto.PostDto;
+import io.plyschik.springbootblog.dto.PostFilter;
+import io.plyschik.springbootblog.dto.PostSummary;
+import io.plyschik.springbootblog.dto.PostTag;
 import io.plyschik.springbootblog.dto.PostWithRelationshipsCount;
+import io.plyschik.springbootblog.dto.Suggestion;
 import io.plyschik.springbootblog.dto.YearArchiveEntry;
 import io.plyschik.springbootblog.entity.Category;
 import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.PostHeadingsConverter;
 import io.plyschik.springbootblog.entity.Tag;
 import io.plyschik.springbootblog.entity.User;
 import io.plyschik.springbootblog.exception.CategoryNotFoundException;
 import io.plyschik.springbootblog.exception.PostNotFoundException;
 import io.plyschik.springbootblog.exception.TagNotFoundException;
+import io.plyschik.springbootblog.mapper.PostMapper;
 import io.plyschik.springbootblog.repository.CategoryRepository;
+import io.plyschik.springbootblog.repository.PostMonthlyCountRepository;
 import io.plyschik.springbootblog.repository.PostRepository;
 import io.plyschik.springbootblog.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
 import java.util.*;
+import java.util.function.LongSupplier;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class PostService {
-    private final ModelMapper modelMapper;
+    private static final String INSERT_MONTHLY_POSTS_COUNT = "INSERT INTO post_monthly_counts (year, month, posts_count) " +
+        "VALUES (?, ?, ?)";
+    private static final int DERIVED_FIELDS_BATCH_SIZE = 100;
+    private static final PostHeadingsConverter POST_HEADINGS_CONVERTER = new PostHeadingsConverter();
+
+    private final PostMapper postMapper;
     private final PostRepository postRepository;
     private final CategoryRepository categoryRepository;
     private final TagRepository tagRepository;
+    private final PostMonthlyCountRepository postMonthlyCountRepository;
+    private final FeedCountStore feedCountStore;
+    private final TopCategoriesCache topCategoriesCache;
+    private final PageCache pageCache;
+    private final SearchIndex searchIndex;
+    private final SearchResultCache searchResultCache;
+    private final SuggestionIndex suggestionIndex;
+    private final MarkdownToHTMLParser markdownToHTMLParser;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
 
     public boolean existsById(long id) {
         return postRepository.existsById(id);
@@ -41,103 +76,234 @@ public class PostService {
         return postRepository.findById(id).orElseThrow(PostNotFoundException::new);
     }
 
-    public Post getPostWithAuthorCategoryAndTags(long id) {
-        return postRepository.findWithUserCategoryAndTagsByIdAndPublishedIsTrue(id)
-            .orElseThrow(PostNotFoundException::new);
+    public Optional<LocalDateTime> getPublishedPostUpdatedAt(long id) {
+        return postRepository.findPublishedUpdatedAtById(id);
     }
 
-    public Page<PostWithRelationshipsCount> getPostsWithCategory(
-        Long userId,
-        Long categoryId,
-        Long tagId,
-        String query,
-        Pageable pageable
-    ) {
-        if (userId != null) {
-            return postRepository.findAllByTitleContainsAndUserIdEquals(query, userId, pageable);
-        }
+    public Optional<LocalDateTime> getCommentsUpdatedAt(long postId) {
+        return postRepository.findCommentsUpdatedAtById(postId);
+    }
 
-        if (categoryId != null) {
-            return postRepository.findAllByTitleContainsAndCategoryIdEquals(query, categoryId, pageable);
-        }
+    @Transactional
+    public void touchComments(long postId, int commentsCountDelta) {
+        postRepository.updateComments(postId, LocalDateTime.now(), commentsCountDelta);
+    }
 
-        if (tagId != null) {
-            return postRepository.findAllByTitleContainsAndTagIdEquals(query, tagId, pageable);
-        }
+    public Post getPostWithAuthorCategoryAndTags(long id) {
+        return postRepository.findWithUserCategoryAndTagsByIdAndPublishedIsTrue(id)
+            .orElseThrow(PostNotFoundException::new);
+    }
 
-        return postRepository.findAllByTitleContains(query, pageable);
+    public Page<PostWithRelationshipsCount> getPostsWithRelationshipsCount(PostFilter filter, Pageable pageable) {
+        return postRepository.findAllWithRelationshipsCount(filter, pageable);
     }
 
-    public Page<Post> getPostsWithAuthorCategoryAndTags(Pageable pageable) {
-        Page<Long> publishedPostIds = postRepository.findAllPublishedIds(pageable);
-        List<Post> postsWithAuthorCategoryAndTags = postRepository.findAllPublishedWithAuthorCategoryAndTagsByIdIn(
-            publishedPostIds.getContent(),
-            pageable.getSort()
+    public Page<PostSummary> getPostsWithAuthorCategoryAndTags(Pageable pageable) {
+        List<Long> publishedPostIds = postRepository.findAllPublishedIds(pageable);
+        List<PostSummary> posts = getPostSummaries(publishedPostIds, pageable.getSort());
+        long total = feedCountStore.getCount(
+            FeedCountStore.publishedPosts(),
+            postRepository::countByPublishedIsTrue
         );
 
-        return new PageImpl<>(postsWithAuthorCategoryAndTags, pageable, publishedPostIds.getTotalElements());
+        return new PageImpl<>(posts, pageable, total);
     }
 
-    public Page<Post> getPostsWithAuthorCategoryAndTagsWhereTitleOrContentContains(String query, Pageable pageable) {
-        Page<Long> publishedPostIds = postRepository.findAllPublishedWhereTitleOrContentContainsIds(query, pageable);
-        List<Post> postsWithAuthorCategoryAndTags = postRepository.findAllPublishedWithAuthorCategoryAndTagsByIdIn(
-            publishedPostIds.getContent(),
-            pageable.getSort()
+    public Page<PostSummary> getPostsWithAuthorCategoryAndTagsWhereTitleOrContentContains(String query, Pageable pageable) {
+        if (searchIndex.isReady()) {
+            List<Long> rankedIds = searchResultCache.get(
+                query,
+                normalizedQuery -> searchIndex.search(normalizedQuery, Pageable.unpaged()).getContent()
+            );
+            int from = (int) Math.min(pageable.getOffset(), rankedIds.size());
+            List<Long> rankedPostIds = rankedIds.subList(from, Math.min(from + pageable.getPageSize(), rankedIds.size()));
+            Map<Long, PostSummary> posts = getPostSummaries(rankedPostIds, Sort.unsorted()).stream()
+                .collect(Collectors.toMap(PostSummary::getId, post -> post));
+            List<PostSummary> rankedPosts = rankedPostIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+
+            return new PageImpl<>(rankedPosts, pageable, rankedIds.size());
+        }
+
+        Pageable newestFirst = PageRequest.of(
+            pageable.getPageNumber(),
+            pageable.getPageSize(),
+            Sort.by(Sort.Order.desc("id"))
         );
+        Page<Long> publishedPostIds = postRepository.findAllPublishedWhereTitleOrContentContainsIds(query, newestFirst);
+        List<PostSummary> posts = getPostSummaries(publishedPostIds.getContent(), newestFirst.getSort());
 
-        return new PageImpl<>(postsWithAuthorCategoryAndTags, pageable, publishedPostIds.getTotalElements());
+        return new PageImpl<>(posts, pageable, publishedPostIds.getTotalElements());
     }
 
-    public Page<Post> getPostsWithAuthorCategoryAndTagsByUserId(long userId, Pageable pageable) {
-        Page<Long> publishedPostIds = postRepository.findAllPublishedByUserIds(userId, pageable);
-        List<Post> postsWithAuthorCategoryAndTags = postRepository.findAllPublishedWithAuthorCategoryAndTagsByIdIn(
-            publishedPostIds.getContent(),
-            pageable.getSort()
+    public Page<PostSummary> getPostsWithAuthorCategoryAndTagsByUserId(long userId, Pageable pageable) {
+        List<Long> publishedPostIds = postRepository.findAllPublishedByUserIds(userId, pageable);
+        List<PostSummary> posts = getPostSummaries(publishedPostIds, pageable.getSort());
+        long total = feedCountStore.getCount(
+            FeedCountStore.publishedPostsByUser(userId),
+            () -> postRepository.countByPublishedIsTrueAndUserId(userId)
         );
 
-        return new PageImpl<>(postsWithAuthorCategoryAndTags, pageable, publishedPostIds.getTotalElements());
+        return new PageImpl<>(posts, pageable, total);
     }
 
-    public Page<Post> getPostsWithAuthorCategoryAndTagsByCategoryId(long categoryId, Pageable pageable) {
-        Page<Long> publishedPostIds = postRepository.findAllPublishedByCategoryIds(categoryId, pageable);
-        List<Post> postsWithAuthorCategoryAndTags = postRepository.findAllPublishedWithAuthorCategoryAndTagsByIdIn(
-            publishedPostIds.getContent(),
-            pageable.getSort()
+    public Page<PostSummary> getPostsWithAuthorCategoryAndTagsByCategoryId(long categoryId, Pageable pageable) {
+        List<Long> publishedPostIds = postRepository.findAllPublishedByCategoryIds(categoryId, pageable);
+        List<PostSummary> posts = getPostSummaries(publishedPostIds, pageable.getSort());
+        long total = feedCountStore.getCount(
+            FeedCountStore.publishedPostsByCategory(categoryId),
+            () -> postRepository.countByPublishedIsTrueAndCategoryId(categoryId)
         );
 
-        return new PageImpl<>(postsWithAuthorCategoryAndTags, pageable, publishedPostIds.getTotalElements());
+        return new PageImpl<>(posts, pageable, total);
     }
 
-    public Page<Post> getPostsWithAuthorCategoryAndTagsByTagId(long tagId, Pageable pageable) {
-        Page<Long> publishedPostIds = postRepository.findAllPublishedByTagIds(tagId, pageable);
-        List<Post> postsWithAuthorCategoryAndTags = postRepository.findAllPublishedWithAuthorCategoryAndTagsByIdIn(
-            publishedPostIds.getContent(),
-            pageable.getSort()
+    public Page<PostSummary> getPostsWithAuthorCategoryAndTagsByTagId(long tagId, Pageable pageable) {
+        List<Long> publishedPostIds = postRepository.findAllPublishedByTagIds(tagId, pageable);
+        List<PostSummary> posts = getPostSummaries(publishedPostIds, pageable.getSort());
+        long total = feedCountStore.getCount(
+            FeedCountStore.publishedPostsByTag(tagId),
+            () -> postRepository.countByPublishedIsTrueAndTagsId(tagId)
         );
 
-        return new PageImpl<>(postsWithAuthorCategoryAndTags, pageable, publishedPostIds.getTotalElements());
+        return new PageImpl<>(posts, pageable, total);
     }
 
-    public Page<Post> getPostsWithAuthorCategoryAndTagsFromDateRange(
+    public Page<PostSummary> getPostsWithAuthorCategoryAndTagsFromDateRange(
         LocalDateTime startDate,
         LocalDateTime endDate,
         Pageable pageable
     ) {
-        Page<Long> publishedPostIds = postRepository.findAllPublishedFromDateRangeIds(
+        List<Long> publishedPostIds = postRepository.findAllPublishedFromDateRangeIds(
             startDate,
             endDate,
             pageable
         );
-        List<Post> postsWithAuthorCategoryAndTags = postRepository.findAllPublishedWithAuthorCategoryAndTagsByIdIn(
-            publishedPostIds.getContent(),
-            pageable.getSort()
+        List<PostSummary> posts = getPostSummaries(publishedPostIds, pageable.getSort());
+        LongSupplier counter = () -> postRepository.countByPublishedIsTrueAndCreatedAtBetween(startDate, endDate);
+        YearMonth month = YearMonth.from(startDate);
+        boolean isWholeMonth = startDate.equals(month.atDay(1).atTime(LocalTime.MIN))
+            && endDate.equals(month.atEndOfMonth().atTime(LocalTime.MAX));
+        long total = isWholeMonth
+            ? feedCountStore.getCount(FeedCountStore.publishedPostsByMonth(month), counter)
+            : counter.getAsLong();
+
+        return new PageImpl<>(posts, pageable, total);
+    }
+
+    public CursorPage<PostSummary> getPostsWithAuthorCategoryAndTags(Long before, Long after, int pageSize) {
+        return getPublishedPostsPage(before, after, pageSize, postRepository::findAllPublishedIdsBetween);
+    }
+
+    public CursorPage<PostSummary> getPostsWithAuthorCategoryAndTagsByUserId(
+        long userId,
+        Long before,
+        Long after,
+        int pageSize
+    ) {
+        return getPublishedPostsPage(before, after, pageSize, (lowerBound, upperBound, pageable) ->
+            postRepository.findAllPublishedByUserIdsBetween(userId, lowerBound, upperBound, pageable)
+        );
+    }
+
+    public CursorPage<PostSummary> getPostsWithAuthorCategoryAndTagsByCategoryId(
+        long categoryId,
+        Long before,
+        Long after,
+        int pageSize
+    ) {
+        return getPublishedPostsPage(before, after, pageSize, (lowerBound, upperBound, pageable) ->
+            postRepository.findAllPublishedByCategoryIdsBetween(categoryId, lowerBound, upperBound, pageable)
+        );
+    }
+
+    public CursorPage<PostSummary> getPostsWithAuthorCategoryAndTagsByTagId(
+        long tagId,
+        Long before,
+        Long after,
+        int pageSize
+    ) {
+        return getPublishedPostsPage(before, after, pageSize, (lowerBound, upperBound, pageable) ->
+            postRepository.findAllPublishedByTagIdsBetween(tagId, lowerBound, upperBound, pageable)
+        );
+    }
+
+    public CursorPage<PostSummary> getPostsWithAuthorCategoryAndTagsFromDateRange(
+        LocalDateTime startDate,
+        LocalDateTime endDate,
+        Long before,
+        Long after,
+        int pageSize
+    ) {
+        return getPublishedPostsPage(before, after, pageSize, (lowerBound, upperBound, pageable) ->
+            postRepository.findAllPublishedFromDateRangeIdsBetween(
+                startDate,
+                endDate,
+                lowerBound,
+                upperBound,
+                pageable
+            )
+        );
+    }
+
+    private CursorPage<PostSummary> getPublishedPostsPage(Long before, Long after, int pageSize, IdsSeek idsSeek) {
+        boolean backwards = before == null && after != null;
+        long lowerBound = backwards ? after : 0;
+        long upperBound = before != null ? before : Long.MAX_VALUE;
+        Sort.Order order = backwards ? Sort.Order.asc("id") : Sort.Order.desc("id");
+
+        List<Long> ids = new ArrayList<>(idsSeek.find(
+            lowerBound,
+            upperBound,
+            PageRequest.of(0, pageSize + 1, Sort.by(order))
+        ));
+        boolean hasMore = ids.size() > pageSize;
+
+        if (backwards && !hasMore) {
+            return getPublishedPostsPage(null, null, pageSize, idsSeek);
+        }
+
+        if (hasMore) {
+            ids = ids.subList(0, pageSize);
+        }
+
+        if (backwards) {
+            Collections.reverse(ids);
+        }
+
+        if (ids.isEmpty()) {
+            return new CursorPage<>(Collections.emptyList(), null, null);
+        }
+
+        List<PostSummary> posts = getPostSummaries(ids, Sort.by(Sort.Order.desc("id")));
+        boolean hasPrevious = backwards || before != null;
+        boolean hasNext = backwards || hasMore;
+
+        return new CursorPage<>(
+            posts,
+            hasPrevious ? ids.get(0) : null,
+            hasNext ? ids.get(ids.size() - 1) : null
         );
+    }
+
+    private List<PostSummary> getPostSummaries(List<Long> ids, Sort sort) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<PostSummary> posts = postRepository.findAllSummariesByIdIn(ids, sort);
+        Map<Long, List<PostTag>> tags = postRepository.findAllTagsByPostIdIn(ids).stream()
+            .collect(Collectors.groupingBy(PostTag::getPostId));
 
-        return new PageImpl<>(postsWithAuthorCategoryAndTags, pageable, publishedPostIds.getTotalElements());
+        posts.forEach(post -> post.setTags(tags.getOrDefault(post.getId(), Collections.emptyList())));
+
+        return posts;
     }
 
     public List<YearArchiveEntry> getPostsArchive() {
-        List<PostCountByYearAndMonthDto> postsCountByYearAndMonth = postRepository.findPostsCountByYearAndMonthDto();
+        List<PostCountByYearAndMonthDto> postsCountByYearAndMonth = postMonthlyCountRepository.findAllNotEmpty();
         HashMap<Integer, List<PostCountByYearAndMonthDto>> years = postsCountByYearAndMonth.stream()
             .collect(Collectors.groupingBy(
                 PostCountByYearAndMonthDto::getYear,
@@ -162,10 +328,11 @@ public class PostService {
         return yearArchiveEntries;
     }
 
+    @Transactional
     public void createPost(PostDto postDto, User user) throws CategoryNotFoundException, TagNotFoundException {
-        Post post = modelMapper.map(postDto, Post.class);
+        Post post = postMapper.toEntity(postDto);
         post.setUser(user);
-        post.setContent(MarkdownToHTMLParser.parse(postDto.getContentRaw()));
+        applyRenderedMarkdown(post, markdownToHTMLParser.render(postDto.getContentRaw()));
 
         if (postDto.getCategoryId() != null) {
             Category category = categoryRepository.findById(postDto.getCategoryId())
@@ -179,26 +346,34 @@ public class PostService {
             post.addTag(tag);
         }
 
+        post.setTagsCount(post.getTags().size());
         postRepository.save(post);
+        adjustMonthlyPostsCount(post, post.isPublished() ? 1 : 0);
+        feedCountStore.increment(getPublishedPostFeedKeys(post));
+        topCategoriesCache.invalidate();
+
+        if (post.isPublished()) {
+            pageCache.evict(PageCache.postLists(), PageCache.sidebar());
+            searchIndex.index(post.getId(), post.getTitle(), post.getContentRaw(), post.getUpdatedAt());
+            searchResultCache.invalidate();
+            suggestionIndex.put(Suggestion.post(post.getId(), post.getTitle()));
+        }
     }
 
     public PostDto getPostByIdForEdit(long id) throws PostNotFoundException {
         Post post = postRepository.findWithCategoryAndTagsById(id).orElseThrow(PostNotFoundException::new);
-        PostDto postDto = modelMapper.map(post, PostDto.class);;
-
-        if (post.getCategory() != null) {
-            postDto.setCategoryId(post.getCategory().getId());
-        }
-
-        post.getTags().forEach(tag -> postDto.getTagIds().add(tag.getId()));
-
-        return postDto;
+        return postMapper.toDto(post);
     }
 
+    @Transactional
     public void updatePost(long id, PostDto postDto) throws PostNotFoundException, CategoryNotFoundException {
         Post post = postRepository.findWithCategoryAndTagsById(id).orElseThrow(PostNotFoundException::new);
-        modelMapper.map(postDto, post);
-        post.setContent(MarkdownToHTMLParser.parse(postDto.getContentRaw()));
+        List<String> previousFeedKeys = getPublishedPostFeedKeys(post);
+        boolean wasPublished = post.isPublished();
+        Long previousCategoryId = post.getCategory() != null ? post.getCategory().getId() : null;
+        postMapper.update(postDto, post);
+        post.setUpdatedAt(LocalDateTime.now());
+        applyRenderedMarkdown(post, markdownToHTMLParser.render(postDto.getContentRaw()));
 
         if (postDto.getCategoryId() != null) {
             Category category = categoryRepository.findById(postDto.getCategoryId())
@@ -228,10 +403,159 @@ public class PostService {
             post.removeTag(tag);
         }
 
+        post.setTagsCount(post.getTags().size());
+
         postRepository.save(post);
+        adjustMonthlyPostsCount(post, (post.isPublished() ? 1 : 0) - (wasPublished ? 1 : 0));
+        feedCountStore.decrement(previousFeedKeys);
+        feedCountStore.increment(getPublishedPostFeedKeys(post));
+        topCategoriesCache.invalidate();
+
+        List<String> pageDependencies = new ArrayList<>(List.of(PageCache.post(id)));
+        if (wasPublished || post.isPublished()) {
+            pageDependencies.add(PageCache.postLists());
+        }
+
+        if (wasPublished != post.isPublished() || post.isPublished() && !Objects.equals(previousCategoryId, postDto.getCategoryId())) {
+            pageDependencies.add(PageCache.sidebar());
+        }
+
+        pageCache.evict(pageDependencies);
+
+        if (post.isPublished()) {
+            searchIndex.index(id, post.getTitle(), post.getContentRaw(), post.getUpdatedAt());
+            suggestionIndex.put(Suggestion.post(id, post.getTitle()));
+        } else {
+            searchIndex.remove(id);
+            suggestionIndex.remove(Suggestion.key("post", id));
+        }
+
+        if (wasPublished || post.isPublished()) {
+            searchResultCache.invalidate();
+        }
     }
 
+    @Transactional
     public void deletePost(long id) {
+        Optional<Post> post = postRepository.findWithCategoryAndTagsById(id);
         postRepository.deleteById(id);
+        searchIndex.remove(id);
+
+        post.ifPresent(deletedPost -> {
+            adjustMonthlyPostsCount(deletedPost, deletedPost.isPublished() ? -1 : 0);
+            feedCountStore.decrement(getPublishedPostFeedKeys(deletedPost));
+
+            if (deletedPost.isPublished()) {
+                pageCache.evict(PageCache.postLists(), PageCache.sidebar());
+                searchResultCache.invalidate();
+            }
+        });
+        feedCountStore.evict(FeedCountStore.commentsByPost(id));
+        topCategoriesCache.invalidate();
+        pageCache.evict(PageCache.post(id));
+        suggestionIndex.remove(Suggestion.key("post", id));
+    }
+
+    @Transactional
+    @Scheduled(
+        fixedDelayString = "${blog.post-counters.repair-interval:3600000}",
+        initialDelayString = "${blog.post-counters.repair-interval:3600000}"
+    )
+    public void repairRelationshipsCounts() {
+        postRepository.recomputeRelationshipsCounts();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillMissingDerivedFields() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long lastId = 0;
+
+        while (true) {
+            long afterId = lastId;
+            // One short transaction per batch keeps a large backfill from holding every post in memory.
+            List<Long> ids = transactionTemplate.execute(status -> fillMissingDerivedFieldsAfter(afterId));
+            if (ids == null || ids.isEmpty()) {
+                return;
+            }
+
+            lastId = ids.get(ids.size() - 1);
+            if (ids.size() < DERIVED_FIELDS_BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private List<Long> fillMissingDerivedFieldsAfter(long id) {
+        List<Long> ids = postRepository.findIdsByExcerptIsNullAndIdGreaterThan(
+            id,
+            PageRequest.of(0, DERIVED_FIELDS_BATCH_SIZE)
+        );
+        // A bulk update leaves updated_at alone; the backfill does not change what readers see.
+        postRepository.findAllById(ids).forEach(post -> {
+            RenderedMarkdown renderedMarkdown = markdownToHTMLParser.render(post.getContentRaw());
+            postRepository.updateDerivedFields(
+                post.getId(),
+                renderedMarkdown.getHtml(),
+                renderedMarkdown.getExcerpt(),
+                renderedMarkdown.getWordCount(),
+                renderedMarkdown.getReadingTime(),
+                POST_HEADINGS_CONVERTER.convertToDatabaseColumn(renderedMarkdown.getOutline())
+            );
+        });
+
+        return ids;
+    }
+
+    private void adjustMonthlyPostsCount(Post post, int delta) {
+        if (delta == 0) {
+            return;
+        }
+
+        int year = post.getCreatedAt().getYear();
+        int month = post.getCreatedAt().getMonthValue();
+
+        if (postMonthlyCountRepository.updatePostsCount(year, month, delta) > 0) {
+            return;
+        }
+
+        // Plain JDBC, so a duplicate key fails only this statement instead of marking the transaction rollback-only.
+        try {
+            jdbcTemplate.update(INSERT_MONTHLY_POSTS_COUNT, year, month, Math.max(delta, 0));
+        } catch (DuplicateKeyException exception) {
+            // A concurrent post created the month row between our UPDATE and INSERT.
+            postMonthlyCountRepository.updatePostsCount(year, month, delta);
+        }
+    }
+
+    private List<String> getPublishedPostFeedKeys(Post post) {
+        if (!post.isPublished()) {
+            return Collections.emptyList();
+        }
+
+        List<String> keys = new ArrayList<>();
+        keys.add(FeedCountStore.publishedPosts());
+        keys.add(FeedCountStore.publishedPostsByUser(post.getUser().getId()));
+        keys.add(FeedCountStore.publishedPostsByMonth(YearMonth.from(post.getCreatedAt())));
+
+        if (post.getCategory() != null) {
+            keys.add(FeedCountStore.publishedPostsByCategory(post.getCategory().getId()));
+        }
+
+        post.getTags().forEach(tag -> keys.add(FeedCountStore.publishedPostsByTag(tag.getId())));
+
+        return keys;
+    }
+
+    private void applyRenderedMarkdown(Post post, RenderedMarkdown renderedMarkdown) {
+        post.setContent(renderedMarkdown.getHtml());
+        post.setExcerpt(renderedMarkdown.getExcerpt());
+        post.setWordCount(renderedMarkdown.getWordCount());
+        post.setReadingTime(renderedMarkdown.getReadingTime());
+        post.setOutline(renderedMarkdown.getOutline());
+    }
+
+    @FunctionalInterface
+    private interface IdsSeek {
+        List<Long> find(long lowerBound, long upperBound, Pageable pageable);
     }
 }
@@ -0,0 +1,17 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.PostHeading;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+@Getter
+@AllArgsConstructor
+public class RenderedMarkdown {
+    private String html;
+    private String excerpt;
+    private int wordCount;
+    private int readingTime;
+    private List<PostHeading> outline;
+}
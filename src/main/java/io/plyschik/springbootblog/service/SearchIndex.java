@@ -0,0 +1,256 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.PostSearchDocument;
+import io.plyschik.springbootblog.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class SearchIndex {
+    private static final double TITLE_BOOST = 3.0;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int REBUILD_BATCH_SIZE = 200;
+
+    private final PostRepository postRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<String, Map<Long, Posting>> postings = new HashMap<>();
+    private final Set<Long> removedDuringRebuild = new HashSet<>();
+    private long totalTitleLength;
+    private long totalContentLength;
+    private boolean rebuilding;
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void index(long id, String title, String content, LocalDateTime updatedAt) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                add(id, title, content, updatedAt);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(long id) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeDocument(id);
+
+                if (rebuilding) {
+                    removedDuringRebuild.add(id);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public Page<Long> search(String query, Pageable pageable) {
+        Set<String> terms = new LinkedHashSet<>(SearchTextAnalyzer.analyze(query));
+        List<Long> ids;
+
+        lock.readLock().lock();
+        try {
+            ids = rank(terms);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(ids, pageable, ids.size());
+        }
+
+        int from = (int) Math.min(pageable.getOffset(), ids.size());
+        int to = Math.min(from + pageable.getPageSize(), ids.size());
+
+        return new PageImpl<>(new ArrayList<>(ids.subList(from, to)), pageable, ids.size());
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            long lastId = 0;
+            List<PostSearchDocument> batch;
+
+            do {
+                batch = postRepository.findAllPublishedSearchDocumentsAfter(
+                    lastId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE)
+                );
+
+                lock.writeLock().lock();
+                try {
+                    for (PostSearchDocument post: batch) {
+                        if (!removedDuringRebuild.contains(post.getId())) {
+                            add(post.getId(), post.getTitle(), post.getContentRaw(), post.getUpdatedAt());
+                        }
+                    }
+                } finally {
+                    lock.writeLock().unlock();
+                }
+
+                if (!batch.isEmpty()) {
+                    lastId = batch.get(batch.size() - 1).getId();
+                }
+            } while (batch.size() == REBUILD_BATCH_SIZE);
+
+            ready = true;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                removedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+
+            return;
+        }
+
+        // Searches must not rank posts that a rolled back or not yet committed transaction wrote.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private List<Long> rank(Set<String> terms) {
+        int documentsCount = documents.size();
+        if (documentsCount == 0 || terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        double averageTitleLength = Math.max(1.0, (double) totalTitleLength / documentsCount);
+        double averageContentLength = Math.max(1.0, (double) totalContentLength / documentsCount);
+        Map<Long, Double> scores = new HashMap<>();
+
+        for (String term: terms) {
+            Map<Long, Posting> termPostings = postings.get(term);
+            if (termPostings == null) {
+                continue;
+            }
+
+            int documentFrequency = termPostings.size();
+            double idf = Math.log(1 + (documentsCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+
+            termPostings.forEach((id, posting) -> {
+                Document document = documents.get(id);
+                double frequency = TITLE_BOOST * posting.titleFrequency
+                    / (1 - B + B * document.titleLength / averageTitleLength)
+                    + posting.contentFrequency
+                    / (1 - B + B * document.contentLength / averageContentLength);
+
+                scores.merge(id, idf * frequency * (K1 + 1) / (frequency + K1), Double::sum);
+            });
+        }
+
+        return scores.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+    }
+
+    private void add(long id, String title, String content, LocalDateTime updatedAt) {
+        Document existing = documents.get(id);
+        if (existing != null && existing.updatedAt != null && updatedAt != null
+            && updatedAt.isBefore(existing.updatedAt)) {
+            return;
+        }
+
+        removeDocument(id);
+
+        List<String> titleTerms = SearchTextAnalyzer.analyze(title);
+        List<String> contentTerms = SearchTextAnalyzer.analyze(content);
+        Map<String, Posting> documentPostings = new HashMap<>();
+
+        titleTerms.forEach(term -> documentPostings.computeIfAbsent(term, ignored -> new Posting()).titleFrequency++);
+        contentTerms.forEach(term -> documentPostings.computeIfAbsent(term, ignored -> new Posting()).contentFrequency++);
+        documentPostings.forEach((term, posting) -> postings.computeIfAbsent(term, ignored -> new HashMap<>()).put(id, posting));
+
+        documents.put(id, new Document(
+            titleTerms.size(),
+            contentTerms.size(),
+            updatedAt,
+            documentPostings.keySet()
+        ));
+        totalTitleLength += titleTerms.size();
+        totalContentLength += contentTerms.size();
+    }
+
+    private void removeDocument(long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+
+        document.terms.forEach(term -> {
+            Map<Long, Posting> termPostings = postings.get(term);
+            termPostings.remove(id);
+
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+            }
+        });
+        totalTitleLength -= document.titleLength;
+        totalContentLength -= document.contentLength;
+    }
+
+    private static class Posting {
+        private int titleFrequency;
+        private int contentFrequency;
+    }
+
+    private static class Document {
+        private final int titleLength;
+        private final int contentLength;
+        private final LocalDateTime updatedAt;
+        private final Set<String> terms;
+
+        private Document(int titleLength, int contentLength, LocalDateTime updatedAt, Set<String> terms) {
+            this.titleLength = titleLength;
+            this.contentLength = contentLength;
+            this.updatedAt = updatedAt;
+            this.terms = terms;
+        }
+    }
+}
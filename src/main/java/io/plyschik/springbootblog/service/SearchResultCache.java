@@ -0,0 +1,110 @@
+package io.plyschik.springbootblog.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class SearchResultCache {
+    private final long timeToLiveNanos;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Map<String, Entry> entries;
+    private long generation;
+
+    public SearchResultCache(
+        @Value("${blog.cache.search-results.time-to-live:PT10M}") Duration timeToLive,
+        @Value("${blog.cache.search-results.max-entries:1000}") int maxEntries
+    ) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > SearchResultCache.this.maxEntries;
+            }
+        };
+    }
+
+    public static String normalize(String query) {
+        return Normalizer.normalize(query, Normalizer.Form.NFKC)
+            .toLowerCase(Locale.ROOT)
+            .trim()
+            .replaceAll("\\s+", " ");
+    }
+
+    public List<Long> get(String query, Function<String, List<Long>> loader) {
+        String key = normalize(query);
+        long loadedGeneration;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.loadedAt < timeToLiveNanos) {
+                hits.increment();
+
+                return entry.ids;
+            }
+
+            loadedGeneration = generation;
+        }
+
+        misses.increment();
+        List<Long> ids = List.copyOf(loader.apply(key));
+
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                entries.put(key, new Entry(ids, System.nanoTime()));
+            }
+        }
+
+        return ids;
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A search between now and the commit would cache results of the old index again.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow();
+                }
+            });
+        }
+
+        invalidateNow();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private synchronized void invalidateNow() {
+        generation++;
+        entries.clear();
+    }
+
+    private static class Entry {
+        private final List<Long> ids;
+        private final long loadedAt;
+
+        private Entry(List<Long> ids, long loadedAt) {
+            this.ids = ids;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
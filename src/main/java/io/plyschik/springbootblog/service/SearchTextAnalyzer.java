@@ -0,0 +1,108 @@
+package io.plyschik.springbootblog.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public class SearchTextAnalyzer {
+    private static final int MIN_STEM_LENGTH = 3;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+        "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on", "or",
+        "the", "to", "was", "with",
+        "i", "w", "z", "na", "do", "ze", "jest", "nie", "sie", "się", "o", "od", "po", "za", "oraz"
+    );
+
+    private static final String[] POLISH_SUFFIXES = {
+        "owania", "owanie", "ościach", "ościami", "ością", "ości", "ość", "ach", "ami", "ego", "emu", "owi",
+        "ych", "ymi", "ich", "imi", "ów", "om", "em", "ie", "ej", "ą", "ę", "y", "a", "u", "i", "o", "e"
+    };
+
+    public static List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        StringBuilder token = new StringBuilder();
+
+        for (int i = 0; i < normalized.length(); i++) {
+            char character = normalized.charAt(i);
+
+            if (Character.isLetterOrDigit(character)) {
+                token.append(character);
+            } else {
+                addTerm(terms, token);
+            }
+        }
+        addTerm(terms, token);
+
+        return terms;
+    }
+
+    static String stem(String token) {
+        if (token.length() <= MIN_STEM_LENGTH) {
+            return token;
+        }
+
+        return isPolish(token) ? stemPolish(token) : stemEnglish(token);
+    }
+
+    private static String stemEnglish(String token) {
+        if (token.endsWith("ies") && !token.endsWith("eies") && !token.endsWith("aies")) {
+            return token.substring(0, token.length() - 3) + "y";
+        }
+
+        if (token.endsWith("es") && !token.endsWith("aes") && !token.endsWith("ees") && !token.endsWith("oes")) {
+            return token.substring(0, token.length() - 1);
+        }
+
+        if (token.endsWith("s") && !token.endsWith("us") && !token.endsWith("ss")) {
+            return token.substring(0, token.length() - 1);
+        }
+
+        return token;
+    }
+
+    private static String stemPolish(String token) {
+        for (String suffix: POLISH_SUFFIXES) {
+            if (token.endsWith(suffix) && token.length() - suffix.length() >= MIN_STEM_LENGTH) {
+                return token.substring(0, token.length() - suffix.length());
+            }
+        }
+
+        return token;
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder token) {
+        if (token.length() == 0) {
+            return;
+        }
+
+        String word = token.toString();
+        token.setLength(0);
+
+        if (!STOP_WORDS.contains(word)) {
+            terms.add(stem(word));
+        }
+    }
+
+    private static boolean isPolish(String token) {
+        for (int i = 0; i < token.length(); i++) {
+            if ("ąćęłńóśźż".indexOf(token.charAt(i)) >= 0) {
+                return true;
+            }
+        }
+
+        return token.endsWith("ach")
+            || token.endsWith("ami")
+            || token.endsWith("ych")
+            || token.endsWith("ego")
+            || token.endsWith("owi")
+            || token.endsWith("anie")
+            || token.endsWith("enie");
+    }
+}
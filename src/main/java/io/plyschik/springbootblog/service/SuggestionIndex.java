@@ -0,0 +1,269 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.Suggestion;
+import io.plyschik.springbootblog.repository.CategoryRepository;
+import io.plyschik.springbootblog.repository.PostRepository;
+import io.plyschik.springbootblog.repository.TagRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@RequiredArgsConstructor
+public class SuggestionIndex {
+    private final PostRepository postRepository;
+    private final TagRepository tagRepository;
+    private final CategoryRepository categoryRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node("");
+    private final Map<String, Suggestion> suggestions = new HashMap<>();
+    private final Set<String> changedDuringRebuild = new HashSet<>();
+    private boolean rebuilding;
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalizedPrefix = SearchResultCache.normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = find(normalizedPrefix);
+            if (node == null) {
+                return Collections.emptyList();
+            }
+
+            Set<String> keys = new LinkedHashSet<>();
+            Deque<Node> queue = new ArrayDeque<>(List.of(node));
+            while (!queue.isEmpty() && keys.size() < limit) {
+                Node current = queue.poll();
+                for (String key: current.keys) {
+                    if (keys.size() < limit) {
+                        keys.add(key);
+                    }
+                }
+                queue.addAll(current.children.values());
+            }
+
+            List<Suggestion> result = new ArrayList<>();
+            keys.forEach(key -> result.add(suggestions.get(key)));
+
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void put(Suggestion suggestion) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                putSuggestion(suggestion);
+
+                if (rebuilding) {
+                    changedDuringRebuild.add(suggestion.getKey());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    public void remove(String key) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeSuggestion(key);
+
+                if (rebuilding) {
+                    changedDuringRebuild.add(key);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        try {
+            List<Suggestion> loaded = new ArrayList<>(postRepository.findAllPublishedTitleSuggestions());
+            tagRepository.findAll().forEach(tag -> loaded.add(Suggestion.tag(tag.getId(), tag.getName())));
+            categoryRepository.findAll()
+                .forEach(category -> loaded.add(Suggestion.category(category.getId(), category.getName())));
+
+            lock.writeLock().lock();
+            try {
+                // Anything written meanwhile is newer than what the rebuild has read, so it must not be overwritten.
+                for (Suggestion suggestion: loaded) {
+                    if (!changedDuringRebuild.contains(suggestion.getKey())) {
+                        putSuggestion(suggestion);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuilding = false;
+                changedDuringRebuild.clear();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void putSuggestion(Suggestion suggestion) {
+        removeSuggestion(suggestion.getKey());
+        suggestions.put(suggestion.getKey(), suggestion);
+        getTerms(suggestion.getLabel()).forEach(term -> insert(term, suggestion.getKey()));
+    }
+
+    private void removeSuggestion(String key) {
+        Suggestion suggestion = suggestions.remove(key);
+        if (suggestion != null) {
+            getTerms(suggestion.getLabel()).forEach(term -> delete(root, term, key));
+        }
+    }
+
+    private static Set<String> getTerms(String label) {
+        String normalizedLabel = SearchResultCache.normalize(label);
+        Set<String> terms = new LinkedHashSet<>();
+
+        for (int i = 0; i < normalizedLabel.length(); i++) {
+            if (i == 0 || normalizedLabel.charAt(i - 1) == ' ') {
+                terms.add(normalizedLabel.substring(i));
+            }
+        }
+
+        return terms;
+    }
+
+    private Node find(String prefix) {
+        Node current = root;
+        String rest = prefix;
+
+        while (!rest.isEmpty()) {
+            Node child = current.children.get(rest.charAt(0));
+            if (child == null) {
+                return null;
+            }
+
+            if (child.edge.startsWith(rest)) {
+                return child;
+            }
+
+            if (!rest.startsWith(child.edge)) {
+                return null;
+            }
+
+            current = child;
+            rest = rest.substring(child.edge.length());
+        }
+
+        return current;
+    }
+
+    private void insert(String term, String key) {
+        Node current = root;
+        String rest = term;
+
+        while (!rest.isEmpty()) {
+            Node child = current.children.get(rest.charAt(0));
+            if (child == null) {
+                child = new Node(rest);
+                current.children.put(rest.charAt(0), child);
+                current = child;
+
+                break;
+            }
+
+            int common = commonPrefixLength(child.edge, rest);
+            if (common < child.edge.length()) {
+                Node split = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                split.children.put(child.edge.charAt(0), child);
+                current.children.put(split.edge.charAt(0), split);
+                child = split;
+            }
+
+            current = child;
+            rest = rest.substring(common);
+        }
+
+        current.keys.add(key);
+    }
+
+    private static boolean delete(Node node, String rest, String key) {
+        if (rest.isEmpty()) {
+            node.keys.remove(key);
+        } else {
+            Node child = node.children.get(rest.charAt(0));
+            if (child == null || !rest.startsWith(child.edge)) {
+                return false;
+            }
+
+            if (delete(child, rest.substring(child.edge.length()), key)) {
+                node.children.remove(rest.charAt(0));
+            } else if (child.keys.isEmpty() && child.children.size() == 1) {
+                Node grandchild = child.children.values().iterator().next();
+                grandchild.edge = child.edge + grandchild.edge;
+                node.children.put(rest.charAt(0), grandchild);
+            }
+        }
+
+        return !node.edge.isEmpty() && node.keys.isEmpty() && node.children.isEmpty();
+    }
+
+    private static int commonPrefixLength(String first, String second) {
+        int length = Math.min(first.length(), second.length());
+        int i = 0;
+        while (i < length && first.charAt(i) == second.charAt(i)) {
+            i++;
+        }
+
+        return i;
+    }
+
+    private static class Node {
+        private String edge;
+        private final SortedMap<Character, Node> children = new TreeMap<>();
+        private final Set<String> keys = new LinkedHashSet<>();
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+    }
+}
@@ -1,25 +1,32 @@
 package io.plyschik.springbootblog.service;
 
+import io.plyschik.springbootblog.dto.Suggestion;
 import io.plyschik.springbootblog.dto.TagDto;
 import io.plyschik.springbootblog.dto.TagWithPostsCount;
 import io.plyschik.springbootblog.entity.Tag;
 import io.plyschik.springbootblog.exception.TagAlreadyExistsException;
 import io.plyschik.springbootblog.exception.TagNotFoundException;
+import io.plyschik.springbootblog.mapper.TagMapper;
+import io.plyschik.springbootblog.repository.PostRepository;
 import io.plyschik.springbootblog.repository.TagRepository;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class TagService {
-    private final ModelMapper modelMapper;
+    private final TagMapper tagMapper;
     private final TagRepository tagRepository;
+    private final PostRepository postRepository;
+    private final FeedCountStore feedCountStore;
+    private final PageCache pageCache;
+    private final SuggestionIndex suggestionIndex;
 
     public Tag getTagById(long id) {
         return tagRepository.findById(id).orElseThrow(TagNotFoundException::new);
@@ -46,15 +53,16 @@ public class TagService {
             throw new TagAlreadyExistsException();
         }
 
-        Tag tag = modelMapper.map(tagDto, Tag.class);
+        Tag tag = tagMapper.toEntity(tagDto);
 
         tagRepository.save(tag);
+        suggestionIndex.put(Suggestion.tag(tag.getId(), tag.getName()));
     }
 
     public TagDto getTagForEdit(long id) throws TagNotFoundException {
         Tag tag = tagRepository.findById(id).orElseThrow(TagNotFoundException::new);
 
-        return modelMapper.map(tag, TagDto.class);
+        return tagMapper.toDto(tag);
     }
 
     public void updateTag(long id, TagDto tagDto) throws TagNotFoundException, TagAlreadyExistsException {
@@ -63,12 +71,20 @@ public class TagService {
         }
 
         Tag tag = tagRepository.findById(id).orElseThrow(TagNotFoundException::new);
-        modelMapper.map(tagDto, tag);
+        tagMapper.update(tagDto, tag);
 
         tagRepository.save(tag);
+        pageCache.evict(PageCache.tag(id), PageCache.postLists());
+        suggestionIndex.put(Suggestion.tag(id, tag.getName()));
     }
 
+    @Transactional
     public void deleteTag(long id) {
+        postRepository.decrementTagsCountByTagId(id);
+        postRepository.deleteTagLinksByTagId(id);
         tagRepository.deleteById(id);
+        feedCountStore.evict(FeedCountStore.publishedPostsByTag(id));
+        pageCache.evict(PageCache.tag(id), PageCache.postLists());
+        suggestionIndex.remove(Suggestion.key("tag", id));
     }
 }
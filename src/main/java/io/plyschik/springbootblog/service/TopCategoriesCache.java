@@ -0,0 +1,84 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.CategoryWithPostsCount;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+@Component
+public class TopCategoriesCache {
+    private final long timeToLiveNanos;
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile Entry entry;
+
+    public TopCategoriesCache(@Value("${blog.cache.top-categories.time-to-live:PT5M}") Duration timeToLive) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+    }
+
+    public List<CategoryWithPostsCount> get(Supplier<List<CategoryWithPostsCount>> loader) {
+        Entry current = entry;
+        if (current != null && System.nanoTime() - current.loadedAt < timeToLiveNanos) {
+            hits.increment();
+
+            return current.categories;
+        }
+
+        misses.increment();
+        long loadedGeneration = generation.get();
+        List<CategoryWithPostsCount> categories = List.copyOf(loader.get());
+
+        synchronized (this) {
+            if (generation.get() == loadedGeneration) {
+                entry = new Entry(categories, System.nanoTime());
+            }
+        }
+
+        return categories;
+    }
+
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // A reader between now and the commit would cache the old counts again.
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidateNow();
+                }
+            });
+        }
+
+        invalidateNow();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private synchronized void invalidateNow() {
+        generation.incrementAndGet();
+        entry = null;
+    }
+
+    private static class Entry {
+        private final List<CategoryWithPostsCount> categories;
+        private final long loadedAt;
+
+        private Entry(List<CategoryWithPostsCount> categories, long loadedAt) {
+            this.categories = categories;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.security.UserPrincipal;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+@Component
+public class UserCache {
+    private final long timeToLiveNanos;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final Map<String, Entry> entries;
+    private final Map<Long, String> emailsById = new HashMap<>();
+    private long generation;
+
+    public UserCache(
+        @Value("${blog.cache.users.time-to-live:PT10M}") Duration timeToLive,
+        @Value("${blog.cache.users.max-entries:1000}") int maxEntries
+    ) {
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.maxEntries = maxEntries;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() <= UserCache.this.maxEntries) {
+                    return false;
+                }
+
+                emailsById.remove(eldest.getValue().principal.getId());
+
+                return true;
+            }
+        };
+    }
+
+    public Optional<UserPrincipal> get(String email, Function<String, Optional<UserPrincipal>> loader) {
+        long loadedGeneration;
+
+        synchronized (this) {
+            Entry entry = entries.get(email);
+            if (entry != null && System.nanoTime() - entry.loadedAt < timeToLiveNanos) {
+                hits.increment();
+
+                return Optional.of(entry.principal.copy());
+            }
+
+            loadedGeneration = generation;
+        }
+
+        misses.increment();
+        Optional<UserPrincipal> principal = loader.apply(email);
+        if (principal.isEmpty()) {
+            return principal;
+        }
+
+        synchronized (this) {
+            if (generation == loadedGeneration) {
+                entries.put(email, new Entry(principal.get().copy(), System.nanoTime()));
+                emailsById.put(principal.get().getId(), email);
+            }
+        }
+
+        return principal;
+    }
+
+    public synchronized void invalidate(long id) {
+        generation++;
+
+        String email = emailsById.remove(id);
+        if (email != null) {
+            entries.remove(email);
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    private static class Entry {
+        private final UserPrincipal principal;
+        private final long loadedAt;
+
+        private Entry(UserPrincipal principal, long loadedAt) {
+            this.principal = principal;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
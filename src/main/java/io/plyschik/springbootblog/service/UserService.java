@@ -1,42 +1,41 @@
 package io.plyschik.springbootblog.service;
 
+import io.plyschik.springbootblog.dto.CommentAuthor;
 import io.plyschik.springbootblog.dto.ForgotPasswordDto;
 import io.plyschik.springbootblog.dto.PasswordResetDto;
 import io.plyschik.springbootblog.dto.UserDto;
 import io.plyschik.springbootblog.dto.UserWithPostsCount;
 import io.plyschik.springbootblog.entity.PasswordResetToken;
-import io.plyschik.springbootblog.entity.User;
 import io.plyschik.springbootblog.entity.User.Role;
+import io.plyschik.springbootblog.entity.User;
 import io.plyschik.springbootblog.entity.VerificationToken;
 import io.plyschik.springbootblog.exception.*;
+import io.plyschik.springbootblog.mapper.UserMapper;
 import io.plyschik.springbootblog.repository.PasswordResetTokenRepository;
 import io.plyschik.springbootblog.repository.UserRepository;
 import io.plyschik.springbootblog.repository.VerificationTokenRepository;
+import io.plyschik.springbootblog.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
-import org.thymeleaf.context.Context;
-import org.thymeleaf.spring5.SpringTemplateEngine;
 
-import javax.mail.MessagingException;
-import javax.mail.internet.MimeMessage;
+import java.security.Principal;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
-    private final ModelMapper modelMapper;
-    private final SpringTemplateEngine templateEngine;
-    private final JavaMailSender mailSender;
+    private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final MailOutbox mailOutbox;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final VerificationTokenRepository verificationTokenRepository;
@@ -52,16 +51,41 @@ public class UserService {
         );
     }
 
+    public UserPrincipal getPrincipalByEmail(String email) {
+        return userCache.get(email, key -> userRepository.findByEmail(key).map(userMapper::toPrincipal))
+            .orElseThrow(() -> new UsernameNotFoundException(String.format("Username %s not found.", email)));
+    }
+
+    public UserPrincipal getPrincipal(Principal principal) {
+        if (principal instanceof Authentication) {
+            Object details = ((Authentication) principal).getPrincipal();
+            if (details instanceof UserPrincipal) {
+                return (UserPrincipal) details;
+            }
+        }
+
+        return getPrincipalByEmail(principal.getName());
+    }
+
+    public User getUserReference(Principal principal) {
+        return userRepository.getById(getPrincipal(principal).getId());
+    }
+
+    public CommentAuthor getCommentAuthor(Principal principal) {
+        return getPrincipal(principal).toCommentAuthor();
+    }
+
     public List<UserWithPostsCount> getUsersWithPostsCount(Sort sort) {
         return userRepository.findAllWithPostsCount(sort);
     }
 
-    public void signUp(UserDto userDto, Role role) throws EmailAddressIsAlreadyTakenException, MessagingException {
+    @Transactional
+    public void signUp(UserDto userDto, Role role) throws EmailAddressIsAlreadyTakenException {
         if (!isUserEmailUnique(userDto.getEmail())) {
             throw new EmailAddressIsAlreadyTakenException();
         }
 
-        User user = modelMapper.map(userDto, User.class);
+        User user = userMapper.toEntity(userDto);
         user.setPassword(passwordEncoder.encode(userDto.getPassword()));
         user.setRole(role);
         userRepository.save(user);
@@ -89,22 +113,11 @@ public class UserService {
         return token;
     }
 
-    @Async
-    protected void sendActivationEmail(User user, String token) throws MessagingException {
-        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
-
-        Context context = new Context();
-        context.setVariable("userFullName", user.fullName());
-        context.setVariable("link", String.format("%s/verification/%s", baseUrl, token));
-        String template = templateEngine.process("email/account_activation", context);
-
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(message, "utf-8");
-        mimeMessageHelper.setTo(user.getEmail());
-        mimeMessageHelper.setSubject("Account activation");
-        mimeMessageHelper.setText(template, true);
-
-        mailSender.send(message);
+    private void sendActivationEmail(User user, String token) {
+        mailOutbox.enqueue(user.getEmail(), "Account activation", "email/account_activation", Map.of(
+            "userFullName", user.fullName(),
+            "link", String.format("%s/verification/%s", getBaseUrl(), token)
+        ));
     }
 
     public void processAccountActivation(String token) throws VerificationTokenNotFoundException {
@@ -120,12 +133,14 @@ public class UserService {
         User user = verificationToken.getUser();
         user.setActivated(true);
         userRepository.save(user);
+        userCache.invalidate(user.getId());
 
         verificationTokenRepository.delete(verificationToken);
     }
 
+    @Transactional
     public void processPasswordResetRequest(ForgotPasswordDto forgotPasswordDto)
-        throws UserNotFoundException, PasswordResetRequestHasBeenAlreadySentException, MessagingException {
+        throws UserNotFoundException, PasswordResetRequestHasBeenAlreadySentException {
         User user = userRepository.findByEmail(forgotPasswordDto.getEmail()).orElseThrow(UserNotFoundException::new);
 
         if (passwordResetTokenRepository.existsByUser(user)) {
@@ -152,22 +167,11 @@ public class UserService {
         return token;
     }
 
-    @Async
-    protected void sendPasswordResetRequestEmail(User user, String token) throws MessagingException {
-        String baseUrl = ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
-
-        Context context = new Context();
-        context.setVariable("userFullName", user.fullName());
-        context.setVariable("link", String.format("%s/auth/password-reset/%s", baseUrl, token));
-        String template = templateEngine.process("email/password_reset", context);
-
-        MimeMessage message = mailSender.createMimeMessage();
-        MimeMessageHelper mimeMessageHelper = new MimeMessageHelper(message, "utf-8");
-        mimeMessageHelper.setTo(user.getEmail());
-        mimeMessageHelper.setSubject("Password reset");
-        mimeMessageHelper.setText(template, true);
-
-        mailSender.send(message);
+    private void sendPasswordResetRequestEmail(User user, String token) {
+        mailOutbox.enqueue(user.getEmail(), "Password reset", "email/password_reset", Map.of(
+            "userFullName", user.fullName(),
+            "link", String.format("%s/auth/password-reset/%s", getBaseUrl(), token)
+        ));
     }
 
     public boolean isPasswordResetTokenValid(String token) {
@@ -185,10 +189,15 @@ public class UserService {
         User user = passwordResetToken.getUser();
         user.setPassword(passwordEncoder.encode(passwordResetDto.getPassword()));
         userRepository.save(user);
+        userCache.invalidate(user.getId());
 
         passwordResetTokenRepository.delete(passwordResetToken);
     }
 
+    private String getBaseUrl() {
+        return ServletUriComponentsBuilder.fromCurrentContextPath().build().toUriString();
+    }
+
     private String generateRandomToken() {
         return UUID.randomUUID().toString();
     }
@@ -1,5 +1,5 @@
 import React, { useContext } from 'react';
-import Pagination from 'react-bootstrap/Pagination';
+import Button from 'react-bootstrap/Button';
 import { InternationalizationContext } from '../contexts/InternationalizationContext';
 import { CommentsContext } from '../contexts/CommentsContext';
 
@@ -8,49 +8,26 @@ const PaginationComponent = () => {
   const {
     state: {
       loading,
-      pagination: {
-        currentPage,
-        totalPages,
-        isFirstPageAvailable,
-        isPreviousPageAvailable,
-        isNextPageAvailable,
-        isLastPageAvailable,
-      },
+      loadingMore,
+      pagination: { isNextPageAvailable },
     },
-    fetchFirstPage,
-    fetchPreviousPage,
     fetchNextPage,
-    fetchLastPage,
   } = useContext(CommentsContext);
 
-  if (loading || totalPages <= 1) {
+  if (loading || !isNextPageAvailable) {
     return null;
   }
 
   return (
-    <Pagination className="mt-4 mb-0 justify-content-center">
-      <Pagination.Item
-        disabled={!isFirstPageAvailable}
-        onClick={fetchFirstPage}
+    <div className="mt-4 d-flex justify-content-center">
+      <Button
+        variant="outline-primary"
+        disabled={loadingMore}
+        onClick={fetchNextPage}
       >
-        «
-      </Pagination.Item>
-      <Pagination.Item
-        disabled={!isPreviousPageAvailable}
-        onClick={fetchPreviousPage}
-      >
-        ‹
-      </Pagination.Item>
-      <li className="page-item border border-start-0 border-end-0 px-3 d-flex align-items-center">
-        {`${i18n.page} ${currentPage + 1} ${i18n.of} ${totalPages}`}
-      </li>
-      <Pagination.Item disabled={!isNextPageAvailable} onClick={fetchNextPage}>
-        ›
-      </Pagination.Item>
-      <Pagination.Item disabled={!isLastPageAvailable} onClick={fetchLastPage}>
-        »
-      </Pagination.Item>
-    </Pagination>
+        {loadingMore ? i18n.loading : i18n.load_more}
+      </Button>
+    </div>
   );
 };
 
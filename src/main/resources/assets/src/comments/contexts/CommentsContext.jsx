@@ -1,12 +1,15 @@
-import React, { createContext, useReducer } from 'react';
+import React, { createContext, useEffect, useReducer } from 'react';
 import PropTypes from 'prop-types';
 import axios from 'axios';
 
 const FETCHING_COMMENTS = 'FETCHING_COMMENTS';
 const FETCH_COMMENTS = 'FETCH_COMMENTS';
+const RECEIVE_COMMENT = 'RECEIVE_COMMENT';
 const UPDATE_COMMENT = 'UPDATE_COMMENT';
 const DELETE_COMMENT = 'DELETE_COMMENT';
 
+const COMMENTS_LIMIT = 5;
+
 const CommentsContext = createContext();
 
 const CommentsProvider = ({ children, postId }) => {
@@ -15,33 +18,84 @@ const CommentsProvider = ({ children, postId }) => {
       case FETCHING_COMMENTS:
         return {
           ...state,
-          loading: true,
+          loading: !action.payload.append,
+          loadingMore: action.payload.append,
         };
       case FETCH_COMMENTS:
         return {
           ...state,
           loading: false,
-          comments: action.payload.comments,
+          loadingMore: false,
+          comments: action.payload.append
+            ? [...state.comments, ...action.payload.comments]
+            : action.payload.comments,
           pagination: action.payload.pagination,
         };
+      case RECEIVE_COMMENT:
+        if (state.comments.some((comment) => comment.id === action.payload.id)) {
+          return state;
+        }
+
+        if (
+          action.payload.pendingId &&
+          state.comments.some((comment) => comment.id === action.payload.pendingId)
+        ) {
+          return {
+            ...state,
+            comments: state.comments.map((comment) => {
+              if (comment.id === action.payload.pendingId) {
+                return {
+                  ...action.payload,
+                  canEdit: true,
+                  canDelete: true,
+                };
+              }
+
+              return comment;
+            }),
+          };
+        }
+
+        return {
+          ...state,
+          comments: [action.payload, ...state.comments],
+          pagination: {
+            ...state.pagination,
+            totalElements: state.pagination.totalElements + 1,
+          },
+        };
       case UPDATE_COMMENT:
         return {
           ...state,
           comments: state.comments.map((comment) => {
             if (comment.id === action.payload.id) {
-              return action.payload;
+              return {
+                ...comment,
+                ...action.payload,
+                canEdit: action.payload.canEdit || comment.canEdit,
+                canDelete: action.payload.canDelete || comment.canDelete,
+              };
             }
 
             return comment;
           }),
         };
-      case DELETE_COMMENT:
+      case DELETE_COMMENT: {
+        const comments = state.comments.filter(
+          (comment) => comment.id !== action.payload
+        );
+
         return {
           ...state,
-          comments: state.comments.filter(
-            (comment) => comment.id !== action.payload
-          ),
+          comments,
+          pagination: {
+            ...state.pagination,
+            totalElements:
+              state.pagination.totalElements -
+              (state.comments.length - comments.length),
+          },
         };
+      }
       default:
         return state;
     }
@@ -49,68 +103,71 @@ const CommentsProvider = ({ children, postId }) => {
 
   const initialState = {
     loading: false,
+    loadingMore: false,
     comments: [],
     pagination: {
-      currentPage: 0,
-      totalPages: 0,
+      nextCursor: null,
       totalElements: 0,
-      isFirstPageAvailable: false,
-      isPreviousPageAvailable: false,
       isNextPageAvailable: false,
-      isLastPageAvailable: false,
     },
   };
 
   const [state, dispatch] = useReducer(reducer, initialState);
 
-  const fetchComments = async (page) => {
-    dispatch({ type: FETCHING_COMMENTS });
+  const fetchComments = async (before) => {
+    const append = before !== null;
+    dispatch({ type: FETCHING_COMMENTS, payload: { append } });
 
+    const query = append
+      ? `before=${before}&limit=${COMMENTS_LIMIT}`
+      : `limit=${COMMENTS_LIMIT}`;
     const {
       data: {
         comments,
-        pagination: {
-          currentPage,
-          totalPages,
-          totalElements,
-          hasPreviousPage,
-          hasNextPage,
-        },
+        cursor: { nextCursor, totalElements, hasNextPage },
       },
-    } = await axios.get(`/api/posts/${postId}/comments?page=${page}`);
+    } = await axios.get(`/api/posts/${postId}/comments?${query}`);
 
     dispatch({
       type: FETCH_COMMENTS,
       payload: {
+        append,
         comments,
         pagination: {
-          currentPage,
-          totalPages,
+          nextCursor,
           totalElements,
-          isFirstPageAvailable: currentPage > 0,
-          isPreviousPageAvailable: hasPreviousPage,
           isNextPageAvailable: hasNextPage,
-          isLastPageAvailable: currentPage < totalPages - 1,
         },
       },
     });
   };
 
   const fetchFirstPage = () => {
-    fetchComments(0);
-  };
-
-  const fetchPreviousPage = () => {
-    fetchComments(state.pagination.currentPage - 1);
+    fetchComments(null);
   };
 
   const fetchNextPage = () => {
-    fetchComments(state.pagination.currentPage + 1);
+    fetchComments(state.pagination.nextCursor);
   };
 
-  const fetchLastPage = () => {
-    fetchComments(state.pagination.totalPages - 1);
-  };
+  useEffect(() => {
+    const eventSource = new EventSource(`/api/posts/${postId}/comments/stream`);
+
+    eventSource.addEventListener('created', (event) => {
+      dispatch({ type: RECEIVE_COMMENT, payload: JSON.parse(event.data) });
+    });
+    eventSource.addEventListener('updated', (event) => {
+      dispatch({ type: UPDATE_COMMENT, payload: JSON.parse(event.data) });
+    });
+    eventSource.addEventListener('deleted', (event) => {
+      dispatch({ type: DELETE_COMMENT, payload: JSON.parse(event.data).id });
+    });
+    eventSource.addEventListener('rejected', (event) => {
+      dispatch({ type: DELETE_COMMENT, payload: JSON.parse(event.data).pendingId });
+    });
+
+    return () => eventSource.close();
+  }, [postId]);
 
   const updateComment = (comment) => {
     dispatch({
@@ -131,9 +188,7 @@ const CommentsProvider = ({ children, postId }) => {
       value={{
         state,
         fetchFirstPage,
-        fetchPreviousPage,
         fetchNextPage,
-        fetchLastPage,
         updateComment,
         deleteComment,
       }}
@@ -0,0 +1,152 @@
+package io.plyschik.springbootblog.configuration;
+
+import io.plyschik.springbootblog.TestUtils;
+import io.plyschik.springbootblog.dto.PostDto;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.entity.User.Role;
+import io.plyschik.springbootblog.service.PageCache;
+import io.plyschik.springbootblog.service.PostService;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.transaction.Transactional;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "blog.page-cache.enabled=true")
+@AutoConfigureMockMvc
+@Transactional
+class PageCacheFilterIntegrationTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PageCacheFilter pageCacheFilter;
+
+    @Test
+    public void shouldServeRepeatedRequestFromCache() throws Exception {
+        Post post = createPost();
+
+        mockMvc.perform(get("/posts/{id}", post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Page-Cache", "MISS"));
+
+        mockMvc.perform(get("/posts/{id}", post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Page-Cache", "HIT"))
+            .andExpect(header().string("Cache-Control", "no-cache"))
+            .andExpect(content().string(containsString("Cached post")));
+    }
+
+    @Test
+    public void shouldEvictCachedPageAfterPostUpdate() throws Exception {
+        Post post = createPost();
+        mockMvc.perform(get("/posts/{id}", post.getId()));
+        mockMvc.perform(get("/posts/{id}", post.getId()))
+            .andExpect(header().string("X-Page-Cache", "HIT"));
+
+        postService.updatePost(post.getId(), new PostDto("Updated post", "Updated content", null, new HashSet<>(), true));
+
+        mockMvc.perform(get("/posts/{id}", post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Page-Cache", "MISS"))
+            .andExpect(content().string(containsString("Updated post")))
+            .andExpect(content().string(not(containsString("Cached post"))));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldBypassCacheForAuthenticatedUsers() throws Exception {
+        Post post = createPost();
+
+        mockMvc.perform(get("/posts/{id}", post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Page-Cache"));
+    }
+
+    @Test
+    public void shouldBypassCacheForRequestsWithSession() throws Exception {
+        Post post = createPost();
+
+        mockMvc.perform(get("/posts/{id}", post.getId()).session(new MockHttpSession()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Page-Cache"));
+    }
+
+    @Test
+    public void shouldBypassCacheForApiAndStaticAssets() throws Exception {
+        Post post = createPost();
+
+        mockMvc.perform(get("/api/posts/{id}/comments", post.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Page-Cache"));
+
+        mockMvc.perform(get("/assets/comments.js"))
+            .andExpect(header().doesNotExist("X-Page-Cache"));
+    }
+
+    @Test
+    public void shouldNotStorePagesThatSetCookie() throws Exception {
+        HttpServlet page = new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest request, HttpServletResponse response) throws IOException {
+                RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+                try {
+                    PageCache.dependsOn(PageCache.postLists());
+                } finally {
+                    RequestContextHolder.resetRequestAttributes();
+                }
+
+                response.addCookie(new Cookie("tracking", "1"));
+                response.setContentType("text/html");
+                response.getWriter().write("<html>Cookie page</html>");
+            }
+        };
+
+        Assertions.assertEquals("MISS", filterCookiePage(page).getHeader("X-Page-Cache"));
+        Assertions.assertEquals("MISS", filterCookiePage(page).getHeader("X-Page-Cache"));
+    }
+
+    private MockHttpServletResponse filterCookiePage(HttpServlet page) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cookie-page");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        pageCacheFilter.doFilter(request, response, new MockFilterChain(page));
+
+        return response;
+    }
+
+    private Post createPost() {
+        User user = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.ADMINISTRATOR);
+
+        return testUtils.createPost("Cached post", "Content", LocalDateTime.now(), user);
+    }
+}
@@ -2,8 +2,12 @@ package io.plyschik.springbootblog.controller;
 
 import io.plyschik.springbootblog.TestUtils;
 import io.plyschik.springbootblog.dto.UserDto;
+import io.plyschik.springbootblog.entity.OutboxMail;
 import io.plyschik.springbootblog.entity.User.Role;
+import io.plyschik.springbootblog.repository.OutboxMailRepository;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -12,13 +16,9 @@ import org.springframework.http.MediaType;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.web.servlet.MockMvc;
 
-import javax.mail.Session;
-import javax.mail.internet.MimeMessage;
 import javax.transaction.Transactional;
+import java.util.List;
 
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doNothing;
-import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -34,6 +34,9 @@ class AuthControllerIntegrationTest {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private OutboxMailRepository outboxMailRepository;
+
     @MockBean
     private JavaMailSender javaMailSender;
 
@@ -168,9 +171,6 @@ class AuthControllerIntegrationTest {
 
     @Test
     public void shouldRedirectToSignInFormWhenFormFieldsAreValid() throws Exception {
-        when(javaMailSender.createMimeMessage()).thenReturn(new MimeMessage((Session) null));
-        doNothing().when(javaMailSender).send(any(MimeMessage.class));
-
         mockMvc.perform(post("/auth/signup")
             .contentType(MediaType.APPLICATION_FORM_URLENCODED)
             .with(csrf())
@@ -182,5 +182,11 @@ class AuthControllerIntegrationTest {
         )
             .andExpect(flash().attributeExists("message"))
             .andExpect(redirectedUrl("/auth/signin"));
+
+        List<OutboxMail> mails = outboxMailRepository.findAll();
+        Assertions.assertEquals(1, mails.size());
+        Assertions.assertEquals("john.doe@sbb.net", mails.get(0).getRecipient());
+        Assertions.assertEquals("email/account_activation", mails.get(0).getTemplate());
+        Mockito.verifyNoInteractions(javaMailSender);
     }
 }
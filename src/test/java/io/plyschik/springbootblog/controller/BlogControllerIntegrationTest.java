@@ -6,16 +6,21 @@ import io.plyschik.springbootblog.entity.Post;
 import io.plyschik.springbootblog.entity.Tag;
 import io.plyschik.springbootblog.entity.User;
 import io.plyschik.springbootblog.entity.User.Role;
+import io.plyschik.springbootblog.repository.PostRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
-import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -29,6 +34,9 @@ class BlogControllerIntegrationTest {
     @Autowired
     private TestUtils testUtils;
 
+    @Autowired
+    private PostRepository postRepository;
+
     @Test
     public void shouldReturnPostsList() throws Exception {
         mockMvc.perform(get("/"))
@@ -37,6 +45,113 @@ class BlogControllerIntegrationTest {
             .andExpect(model().attributeExists("posts", "categories"));
     }
 
+    @Test
+    public void shouldReturnNotModifiedWhenPostsListHasNotChanged() throws Exception {
+        String eTag = mockMvc.perform(get("/"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("ETag"))
+            .andExpect(header().string("Cache-Control", "no-cache"))
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+        mockMvc.perform(get("/").header("If-None-Match", eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(header().string("Cache-Control", "no-cache"))
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldMarkConditionalResponsesAsPrivateForAuthenticatedUsers() throws Exception {
+        mockMvc.perform(get("/"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    @WithMockUser
+    public void shouldNotReturnNotModifiedToAuthenticatedUserWithNewSession() throws Exception {
+        MockHttpSession session = new MockHttpSession();
+        String eTag = mockMvc.perform(get("/").session(session))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader("ETag");
+
+        mockMvc.perform(get("/").session(session).header("If-None-Match", eTag))
+            .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/").session(new MockHttpSession()).header("If-None-Match", eTag))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("/auth/signout")));
+    }
+
+    @Test
+    public void shouldReturnPostsListWithAuthorCategoryAndTags() throws Exception {
+        User user = testUtils.createUser(
+            "administrator@sbb.net",
+            "password",
+            "John",
+            "Doe",
+            Role.ADMINISTRATOR
+        );
+        Category category = testUtils.createCategory("Test category");
+        Tag tag = testUtils.createTag("Test tag");
+
+        Post post = testUtils.createPost("Test title", "Test content", LocalDateTime.now(), user);
+        post.setCategory(category);
+        post.addTag(tag);
+        postRepository.save(post);
+
+        mockMvc.perform(get("/"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString(post.getTitle())))
+            .andExpect(content().string(containsString("John Doe")))
+            .andExpect(content().string(containsString(category.getName())))
+            .andExpect(content().string(containsString(tag.getName())));
+    }
+
+    @Test
+    public void shouldPaginatePostsListWithCursor() throws Exception {
+        User user = testUtils.createUser(
+            "administrator@sbb.net",
+            "password",
+            "John",
+            "Doe",
+            Role.ADMINISTRATOR
+        );
+
+        List<Post> posts = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            posts.add(testUtils.createPost("Test title " + i, "Test content", LocalDateTime.now(), user));
+        }
+
+        mockMvc.perform(get("/"))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("posts", hasProperty("content", hasSize(5))))
+            .andExpect(model().attribute("posts", hasProperty("previousCursor", nullValue())))
+            .andExpect(model().attribute("posts", hasProperty("nextCursor", is(posts.get(2).getId()))));
+
+        mockMvc.perform(get("/").param("before", String.valueOf(posts.get(2).getId())))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("posts", hasProperty("content", hasSize(2))))
+            .andExpect(model().attribute("posts", hasProperty("previousCursor", is(posts.get(1).getId()))))
+            .andExpect(model().attribute("posts", hasProperty("nextCursor", nullValue())));
+
+        mockMvc.perform(get("/").param("after", String.valueOf(posts.get(1).getId())))
+            .andExpect(status().isOk())
+            .andExpect(model().attribute("posts", hasProperty("content", hasSize(5))))
+            .andExpect(model().attribute("posts", hasProperty("previousCursor", nullValue())));
+    }
+
+    @Test
+    public void shouldRedirectToFirstPageWhenNumberedPageIsBeyondLimit() throws Exception {
+        mockMvc.perform(get("/").param("page", "100"))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("http://localhost/"));
+    }
+
     @Test
     public void shouldReturnNotFoundStatusWhenPostNotFound() throws Exception {
         mockMvc.perform(get("/posts/{id}", 1))
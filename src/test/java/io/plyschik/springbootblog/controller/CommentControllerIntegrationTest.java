@@ -24,6 +24,8 @@ import java.util.Date;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -302,4 +304,75 @@ class CommentControllerIntegrationTest {
 
         assertFalse(commentRepository.existsById(comment.getId()));
     }
+
+    @Test
+    public void shouldReturnCommentsPageByCursor() throws Exception {
+        User user = testUtils.createUser(
+            "john.doe@sbb.net",
+            "password",
+            "John",
+            "Doe",
+            Role.ADMINISTRATOR
+        );
+
+        Post post = testUtils.createPost(
+            "Post title",
+            "Content",
+            LocalDateTime.now(),
+            user
+        );
+
+        Comment first = testUtils.createComment("First", new Date(), user, post);
+        Comment second = testUtils.createComment("Second", new Date(), user, post);
+        Comment third = testUtils.createComment("Third", new Date(), user, post);
+
+        mockMvc.perform(get("/api/posts/{postId}/comments", post.getId()).param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.comments.length()").value(2))
+            .andExpect(jsonPath("$.comments[0].id").value(third.getId()))
+            .andExpect(jsonPath("$.cursor.hasNextPage").value(true))
+            .andExpect(jsonPath("$.cursor.nextCursor").value(second.getId()));
+
+        mockMvc.perform(get("/api/posts/{postId}/comments", post.getId())
+                .param("before", String.valueOf(second.getId()))
+                .param("limit", "2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.comments.length()").value(1))
+            .andExpect(jsonPath("$.comments[0].id").value(first.getId()))
+            .andExpect(jsonPath("$.cursor.hasNextPage").value(false));
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenPostNotExistsInCursorMode() throws Exception {
+        mockMvc.perform(get("/api/posts/{postId}/comments", 1).param("limit", "2"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void shouldOpenCommentsStreamForExistingPost() throws Exception {
+        User user = testUtils.createUser(
+            "john.doe@sbb.net",
+            "password",
+            "John",
+            "Doe",
+            Role.ADMINISTRATOR
+        );
+
+        Post post = testUtils.createPost(
+            "Post title",
+            "Content",
+            LocalDateTime.now(),
+            user
+        );
+
+        mockMvc.perform(get("/api/posts/{postId}/comments/stream", post.getId()).accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenStreamingCommentsOfNotExistingPost() throws Exception {
+        mockMvc.perform(get("/api/posts/{postId}/comments/stream", 1).accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isNotFound());
+    }
 }
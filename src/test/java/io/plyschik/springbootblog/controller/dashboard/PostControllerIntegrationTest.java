@@ -1,25 +1,35 @@
 package io.plyschik.springbootblog.controller.dashboard;
 
 import io.plyschik.springbootblog.TestUtils;
+import io.plyschik.springbootblog.dto.PostCountByYearAndMonthDto;
 import io.plyschik.springbootblog.dto.PostDto;
+import io.plyschik.springbootblog.dto.PostWithRelationshipsCount;
+import io.plyschik.springbootblog.entity.Category;
 import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.Tag;
 import io.plyschik.springbootblog.entity.User;
 import io.plyschik.springbootblog.entity.User.Role;
 import io.plyschik.springbootblog.exception.PostNotFoundException;
+import io.plyschik.springbootblog.repository.PostMonthlyCountRepository;
 import io.plyschik.springbootblog.repository.PostRepository;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -38,6 +48,9 @@ class PostControllerIntegrationTest {
     @Autowired
     private PostRepository postRepository;
 
+    @Autowired
+    private PostMonthlyCountRepository postMonthlyCountRepository;
+
     @Test
     @WithMockUser
     public void shouldReturnForbiddenWhenUserRoleIsUser() throws Exception {
@@ -97,6 +110,53 @@ class PostControllerIntegrationTest {
             .andExpect(model().attributeExists("posts"));
     }
 
+    @Test
+    @WithMockUser(roles = {"ADMINISTRATOR"})
+    public void shouldCombineAllFiltersWhenListingPosts() throws Exception {
+        User author = testUtils.createUser("author@sbb.net", "password", "John", "Doe", Role.ADMINISTRATOR);
+        User otherAuthor = testUtils.createUser("other@sbb.net", "password", "Jane", "Doe", Role.ADMINISTRATOR);
+        Category category = testUtils.createCategory("Category");
+        Tag tag = testUtils.createTag("Tag");
+
+        Post matching = testUtils.createPost("Spring post", "Content", LocalDateTime.now(), author);
+        matching.setCategory(category);
+        matching.addTag(tag);
+        Post withoutTag = testUtils.createPost("Spring post without tag", "Content", LocalDateTime.now(), author);
+        withoutTag.setCategory(category);
+        Post byOtherAuthor = testUtils.createPost("Spring post by other author", "Content", LocalDateTime.now(), otherAuthor);
+        byOtherAuthor.setCategory(category);
+        byOtherAuthor.addTag(tag);
+
+        MvcResult result = mockMvc.perform(get("/dashboard/posts")
+                .param("user", String.valueOf(author.getId()))
+                .param("category", String.valueOf(category.getId()))
+                .param("tag", String.valueOf(tag.getId()))
+                .param("query", "spring"))
+            .andExpect(status().isOk())
+            .andReturn();
+
+        Page<?> posts = (Page<?>) result.getModelAndView().getModel().get("posts");
+        assertEquals(1, posts.getTotalElements());
+        assertEquals(matching.getId(), ((PostWithRelationshipsCount) posts.getContent().get(0)).getId());
+    }
+
+    @Test
+    @WithMockUser(roles = {"ADMINISTRATOR"})
+    public void shouldKeepAllFiltersInSortingLinks() throws Exception {
+        User author = testUtils.createUser("author@sbb.net", "password", "John", "Doe", Role.ADMINISTRATOR);
+        testUtils.createPost("Spring post", "Content", LocalDateTime.now(), author);
+
+        mockMvc.perform(get("/dashboard/posts")
+                .param("published", "true")
+                .param("from", "2000-01-01")
+                .param("to", "2100-01-01"))
+            .andExpect(status().isOk())
+            .andExpect(content().string(containsString("title,asc")))
+            .andExpect(content().string(containsString("published=true")))
+            .andExpect(content().string(containsString("from=2000-01-01")))
+            .andExpect(content().string(containsString("to=2100-01-01")));
+    }
+
     @Test
     @WithMockUser(value = "test", roles = {"ADMINISTRATOR"})
     public void shouldReturnFormValidationErrorWhenTitleFieldIsInvalid() throws Exception {
@@ -192,6 +252,41 @@ class PostControllerIntegrationTest {
         assertEquals("Content", post.getContentRaw());
     }
 
+    @Test
+    @WithMockUser(value = "administrator@sbb.net", roles = {"ADMINISTRATOR"})
+    public void shouldMaintainMonthlyPostsCountWhenPublishedPostIsCreatedAndDeleted() throws Exception {
+        testUtils.createUser(
+            "administrator@sbb.net",
+            "password",
+            "John",
+            "Doe",
+            Role.ADMINISTRATOR
+        );
+
+        mockMvc.perform(post("/dashboard/posts/create")
+            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+            .with(csrf())
+            .param("title", "Title")
+            .param("contentRaw", "Content")
+            .param("published", "true")
+            .sessionAttr("post", new PostDto())
+        )
+            .andExpect(redirectedUrl("/dashboard/posts"));
+
+        Post post = postRepository.findAll().stream().findFirst().orElseThrow();
+        List<PostCountByYearAndMonthDto> counts = postMonthlyCountRepository.findAllNotEmpty();
+
+        assertEquals(1, counts.size());
+        assertEquals(post.getCreatedAt().getYear(), counts.get(0).getYear());
+        assertEquals(post.getCreatedAt().getMonthValue(), counts.get(0).getMonth());
+        assertEquals(1, counts.get(0).getCount());
+
+        mockMvc.perform(post("/dashboard/posts/{id}/delete", post.getId()).with(csrf()))
+            .andExpect(redirectedUrl("/dashboard/posts"));
+
+        assertTrue(postMonthlyCountRepository.findAllNotEmpty().isEmpty());
+    }
+
     @Test
     @WithMockUser(value = "administrator@sbb.net", roles = {"ADMINISTRATOR"})
     public void shouldReturnFilledEditFormWhenPostExists() throws Exception {
@@ -0,0 +1,80 @@
+package io.plyschik.springbootblog.mapper;
+
+import io.plyschik.springbootblog.dto.PostDto;
+import io.plyschik.springbootblog.dto.PostsCommentApiResponse;
+import io.plyschik.springbootblog.entity.Comment;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.User;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the hand-written mappers with ModelMapper. Run with:
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.plyschik.springbootblog.mapper.MapperBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    private final ModelMapper modelMapper = new ModelMapper();
+    private final CommentMapper commentMapper = new CommentMapper();
+    private final PostMapper postMapper = new PostMapper();
+
+    private Comment comment;
+    private PostDto postDto;
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setFirstName("John");
+        user.setLastName("Doe");
+
+        comment = new Comment();
+        ReflectionTestUtils.setField(comment, "id", 1L);
+        comment.setContent("Comment content");
+        comment.setCreatedAt(LocalDateTime.now());
+        comment.setUser(user);
+
+        postDto = new PostDto("Title", "Content", null, Set.of(), true);
+    }
+
+    @Benchmark
+    public PostsCommentApiResponse.Comment commentWithModelMapper() {
+        return modelMapper.map(comment, PostsCommentApiResponse.Comment.class);
+    }
+
+    @Benchmark
+    public PostsCommentApiResponse.Comment commentWithCommentMapper() {
+        return commentMapper.toApiResponse(comment);
+    }
+
+    @Benchmark
+    public Post postWithModelMapper() {
+        return modelMapper.map(postDto, Post.class);
+    }
+
+    @Benchmark
+    public Post postWithPostMapper() {
+        return postMapper.toEntity(postDto);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+            .include(MapperBenchmark.class.getSimpleName())
+            .addProfiler(GCProfiler.class)
+            .build()
+        ).run();
+    }
+}
@@ -0,0 +1,54 @@
+package io.plyschik.springbootblog.mapper;
+
+import io.plyschik.springbootblog.dto.PostDto;
+import io.plyschik.springbootblog.entity.Category;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.Tag;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Set;
+
+class PostMapperTest {
+    private final PostMapper postMapper = new PostMapper();
+
+    @Test
+    public void toDtoShouldCopyFieldsAndRelationshipIds() {
+        Category category = new Category();
+        ReflectionTestUtils.setField(category, "id", 2L);
+        Tag tag = new Tag();
+        ReflectionTestUtils.setField(tag, "id", 3L);
+
+        Post post = new Post();
+        post.setTitle("Title");
+        post.setContentRaw("Content");
+        post.setPublished(true);
+        post.setCategory(category);
+        post.addTag(tag);
+
+        PostDto postDto = postMapper.toDto(post);
+
+        Assertions.assertEquals("Title", postDto.getTitle());
+        Assertions.assertEquals("Content", postDto.getContentRaw());
+        Assertions.assertTrue(postDto.isPublished());
+        Assertions.assertEquals(2L, postDto.getCategoryId());
+        Assertions.assertEquals(Set.of(3L), postDto.getTagIds());
+    }
+
+    @Test
+    public void updateShouldNotTouchRelationships() {
+        Category category = new Category();
+        ReflectionTestUtils.setField(category, "id", 2L);
+
+        Post post = new Post();
+        post.setCategory(category);
+
+        postMapper.update(new PostDto("Title", "Content", 5L, Set.of(), false), post);
+
+        Assertions.assertEquals("Title", post.getTitle());
+        Assertions.assertEquals("Content", post.getContentRaw());
+        Assertions.assertSame(category, post.getCategory());
+        Assertions.assertEquals(2L, category.getId());
+    }
+}
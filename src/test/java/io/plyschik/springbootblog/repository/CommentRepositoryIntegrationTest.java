@@ -0,0 +1,84 @@
+package io.plyschik.springbootblog.repository;
+
+import io.plyschik.springbootblog.TestUtils;
+import io.plyschik.springbootblog.dto.PostCommentRow;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.entity.User.Role;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+@SpringBootTest
+@Transactional
+class CommentRepositoryIntegrationTest {
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void findAllByPostIdAndIdLessThanShouldLoadCursorPageInSingleQuery() {
+        User john = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.USER);
+        User jane = testUtils.createUser("jane.doe@sbb.net", "password", "Jane", "Doe", Role.USER);
+        Post post = testUtils.createPost("Post title", "Content", LocalDateTime.now(), john);
+        testUtils.createComment("First", new Date(), john, post);
+        testUtils.createComment("Second", new Date(), jane, post);
+        testUtils.createComment("Third", new Date(), john, post);
+        entityManager.flush();
+        // comments_count is not updatable through the entity, the counter is maintained with direct updates.
+        entityManager.createNativeQuery("UPDATE posts SET comments_count = 3 WHERE id = :id")
+            .setParameter("id", post.getId())
+            .executeUpdate();
+        entityManager.clear();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<PostCommentRow> rows = commentRepository.findAllByPostIdAndIdLessThan(
+            post.getId(),
+            Long.MAX_VALUE,
+            PageRequest.of(0, 10)
+        );
+
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, statistics.getEntityLoadCount());
+        Assertions.assertEquals(3, rows.size());
+        Assertions.assertEquals(3, rows.get(0).getPostCommentsCount());
+        Assertions.assertEquals("Third", rows.get(0).getContent());
+        Assertions.assertEquals("Jane", rows.get(1).getUserFirstName());
+    }
+
+    @Test
+    public void findAllByPostIdAndIdLessThanShouldReturnPostRowWithoutComments() {
+        User john = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.USER);
+        Post post = testUtils.createPost("Post title", "Content", LocalDateTime.now(), john);
+
+        List<PostCommentRow> rows = commentRepository.findAllByPostIdAndIdLessThan(
+            post.getId(),
+            Long.MAX_VALUE,
+            PageRequest.of(0, 10)
+        );
+
+        Assertions.assertEquals(1, rows.size());
+        Assertions.assertNull(rows.get(0).getCommentId());
+    }
+}
@@ -0,0 +1,194 @@
+package io.plyschik.springbootblog.repository;
+
+import io.plyschik.springbootblog.dto.PostFilter;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.hql.internal.ast.ASTQueryTranslatorFactory;
+import org.hibernate.hql.spi.QueryTranslator;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AssignableTypeFilter;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:query-plans;MODE=MySQL",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "io.plyschik.springbootblog.repository.QueryPlanTest$RecordingStatementInspector"
+})
+class QueryPlanTest {
+    private static final Map<String, String> ALLOWED_FULL_SCANS = Map.of(
+        "CategoryRepository.findAllWithPostsCount", "lists every category",
+        "TagRepository.findAllWithPostsCount", "lists every tag",
+        "UserRepository.findAllWithPostsCount", "lists every administrator",
+        "PostMonthlyCountRepository.findAllNotEmpty", "lists every month of the archive",
+        "PostRepository.findAllPublishedWhereTitleOrContentContainsIds", "fallback search before the index is ready",
+        "PostRepository.recomputeRelationshipsCounts", "periodic repair of every post",
+        "PostRepository.findIdsByExcerptIsNullAndIdGreaterThan", "one-off backfill of derived fields at startup"
+    );
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    public void repositoryQueriesShouldNotScanWholeTables() throws Exception {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        List<String> regressions = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            for (Method method: getQueryMethods()) {
+                Query query = method.getAnnotation(Query.class);
+                if (query.value().isEmpty()) {
+                    continue;
+                }
+
+                String name = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+                List<String> statements = query.nativeQuery()
+                    ? List.of(query.value())
+                    : translate(sessionFactory, query.value());
+
+                for (String statement: statements) {
+                    String plan = explain(connection, statement);
+
+                    if (plan.contains(".tableScan") && !ALLOWED_FULL_SCANS.containsKey(name)) {
+                        regressions.add(name + ":\n" + plan);
+                    }
+                }
+            }
+        }
+
+        Assertions.assertTrue(regressions.isEmpty(), String.join("\n\n", regressions));
+    }
+
+    @Test
+    public void dashboardPostFiltersShouldNotScanWholeTables() throws Exception {
+        List<String> regressions = new ArrayList<>();
+
+        // Every combination of the dashboard filters; bits: user, category, tag, published, date range, title.
+        for (int combination = 0; combination < 64; combination++) {
+            // Neither a date range on its own nor a "%title%" LIKE can use an index, so only those may scan.
+            if ((combination & 15) == 0) {
+                continue;
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            PostFilter filter = PostFilter.builder()
+                .userId((combination & 1) != 0 ? 1L : null)
+                .categoryId((combination & 2) != 0 ? 1L : null)
+                .tagId((combination & 4) != 0 ? 1L : null)
+                .published((combination & 8) != 0 ? true : null)
+                .createdFrom((combination & 16) != 0 ? now.minusMonths(1) : null)
+                .createdTo((combination & 16) != 0 ? now : null)
+                .query((combination & 32) != 0 ? "title" : null)
+                .build();
+
+            RecordingStatementInspector.STATEMENTS.clear();
+            // The second page forces the count query as well.
+            postRepository.findAllWithRelationshipsCount(filter, PageRequest.of(1, 10));
+
+            try (Connection connection = dataSource.getConnection()) {
+                for (String statement: RecordingStatementInspector.STATEMENTS) {
+                    String plan = explain(connection, statement);
+
+                    if (plan.contains(".tableScan")) {
+                        regressions.add("Filter combination " + combination + ":\n" + plan);
+                    }
+                }
+            }
+        }
+
+        Assertions.assertTrue(regressions.isEmpty(), String.join("\n\n", regressions));
+    }
+
+    private static List<Method> getQueryMethods() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider provider = new ClassPathScanningCandidateComponentProvider(false) {
+            @Override
+            protected boolean isCandidateComponent(AnnotatedBeanDefinition beanDefinition) {
+                return beanDefinition.getMetadata().isInterface();
+            }
+        };
+        provider.addIncludeFilter(new AssignableTypeFilter(Repository.class));
+
+        List<Method> methods = new ArrayList<>();
+        for (BeanDefinition beanDefinition: provider.findCandidateComponents(QueryPlanTest.class.getPackageName())) {
+            for (Method method: Class.forName(beanDefinition.getBeanClassName()).getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Query.class)) {
+                    methods.add(method);
+                }
+            }
+        }
+
+        methods.sort(Comparator.comparing(Method::toString));
+
+        return methods;
+    }
+
+    private static List<String> translate(SessionFactoryImplementor sessionFactory, String jpql) {
+        String hql = jpql.replaceAll("%:(\\w+)%", ":$1");
+        QueryTranslator translator = new ASTQueryTranslatorFactory().createQueryTranslator(
+            hql,
+            hql,
+            Collections.emptyMap(),
+            sessionFactory,
+            null
+        );
+        translator.compile(Collections.emptyMap(), false);
+
+        return translator.collectSqlStrings();
+    }
+
+    private static String explain(Connection connection, String sql) throws Exception {
+        String explainable = sql.replaceAll(":\\w+", "?");
+
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + explainable)) {
+            int parameterCount = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameterCount; i++) {
+                statement.setNull(i, Types.NULL);
+            }
+
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+
+            return plan.toString();
+        }
+    }
+
+    public static class RecordingStatementInspector implements StatementInspector {
+        private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.plyschik.springbootblog.security;
+
+import io.plyschik.springbootblog.exception.PasswordHashingRejectedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+class BoundedPasswordEncoderTest {
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    public void encodeAndMatchesShouldRunOnPoolAndRecordLatency() {
+        passwordEncoder = new BoundedPasswordEncoder(4, 1, 4, Duration.ofSeconds(5));
+
+        String hash = passwordEncoder.encode("password");
+
+        Assertions.assertTrue(passwordEncoder.matches("password", hash));
+        Assertions.assertFalse(passwordEncoder.matches("other", hash));
+        Assertions.assertEquals(3, passwordEncoder.getHashes());
+        Assertions.assertTrue(passwordEncoder.getHashTimeNanos() > 0);
+        Assertions.assertEquals(0, passwordEncoder.getRejectedHashes());
+    }
+
+    @Test
+    public void encodeShouldRejectWhenHashIsNotReadyInTime() {
+        passwordEncoder = new BoundedPasswordEncoder(12, 1, 1, Duration.ZERO);
+
+        Assertions.assertThrows(PasswordHashingRejectedException.class, () -> passwordEncoder.encode("password"));
+        Assertions.assertEquals(1, passwordEncoder.getRejectedHashes());
+    }
+
+    @Test
+    public void calibrateShouldNeverGoBelowMinimumStrength() {
+        passwordEncoder = new BoundedPasswordEncoder(
+            BoundedPasswordEncoder.calibrate(Duration.ZERO),
+            1,
+            1,
+            Duration.ofSeconds(5)
+        );
+
+        Assertions.assertEquals(10, passwordEncoder.getStrength());
+    }
+}
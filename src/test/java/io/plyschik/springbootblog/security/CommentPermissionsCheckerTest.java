@@ -0,0 +1,126 @@
+package io.plyschik.springbootblog.security;
+
+import io.plyschik.springbootblog.entity.Comment;
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.repository.CommentRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+@ExtendWith(MockitoExtension.class)
+class CommentPermissionsCheckerTest {
+    @Mock
+    private CommentRepository commentRepository;
+
+    @InjectMocks
+    private CommentPermissionsChecker commentPermissionsChecker;
+
+    @Test
+    public void getPermissionsShouldEvaluateWholePageWithoutQueries() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "user@sbb.net",
+            null,
+            List.of(new SimpleGrantedAuthority("ROLE_USER"))
+        );
+        Comment recent = createComment(1L, "user@sbb.net", LocalDateTime.now());
+        Comment old = createComment(2L, "user@sbb.net", LocalDateTime.now().minusMinutes(10));
+        Comment foreign = createComment(3L, "other@sbb.net", LocalDateTime.now());
+
+        Map<Long, CommentPermissionsChecker.CommentPermissions> permissions = commentPermissionsChecker.getPermissions(
+            authentication,
+            List.of(recent, old, foreign)
+        );
+
+        Assertions.assertTrue(permissions.get(1L).isCanEdit());
+        Assertions.assertTrue(permissions.get(1L).isCanDelete());
+        Assertions.assertFalse(permissions.get(2L).isCanEdit());
+        Assertions.assertTrue(permissions.get(2L).isCanDelete());
+        Assertions.assertFalse(permissions.get(3L).isCanEdit());
+        Assertions.assertFalse(permissions.get(3L).isCanDelete());
+        Mockito.verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    public void getPermissionsShouldMatchAuthorByIdForUserPrincipal() {
+        UserPrincipal principal = new UserPrincipal(
+            1,
+            "user@sbb.net",
+            null,
+            "John",
+            "Doe",
+            User.Role.USER,
+            true
+        );
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            principal,
+            null,
+            principal.getAuthorities()
+        );
+        User author = new User();
+        ReflectionTestUtils.setField(author, "id", 1L);
+        Comment comment = new Comment();
+        ReflectionTestUtils.setField(comment, "id", 1L);
+        comment.setUser(author);
+        comment.setCreatedAt(LocalDateTime.now());
+
+        CommentPermissionsChecker.CommentPermissions permissions = commentPermissionsChecker.getPermissions(
+            authentication,
+            comment
+        );
+
+        Assertions.assertTrue(permissions.isCanEdit());
+        Assertions.assertTrue(permissions.isCanDelete());
+    }
+
+    @Test
+    public void getPermissionsShouldGrantEverythingToModerators() {
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+            "moderator@sbb.net",
+            null,
+            List.of(new SimpleGrantedAuthority("ROLE_MODERATOR"))
+        );
+
+        CommentPermissionsChecker.CommentPermissions permissions = commentPermissionsChecker.getPermissions(
+            authentication,
+            createComment(1L, "user@sbb.net", LocalDateTime.now().minusDays(1))
+        );
+
+        Assertions.assertTrue(permissions.isCanEdit());
+        Assertions.assertTrue(permissions.isCanDelete());
+    }
+
+    @Test
+    public void getPermissionsShouldDenyEverythingToAnonymousUsers() {
+        CommentPermissionsChecker.CommentPermissions permissions = commentPermissionsChecker.getPermissions(
+            null,
+            createComment(1L, "user@sbb.net", LocalDateTime.now())
+        );
+
+        Assertions.assertFalse(permissions.isCanEdit());
+        Assertions.assertFalse(permissions.isCanDelete());
+    }
+
+    private static Comment createComment(Long id, String email, LocalDateTime createdAt) {
+        User user = new User();
+        user.setEmail(email);
+
+        Comment comment = new Comment();
+        ReflectionTestUtils.setField(comment, "id", id);
+        comment.setUser(user);
+        comment.setCreatedAt(createdAt);
+
+        return comment;
+    }
+}
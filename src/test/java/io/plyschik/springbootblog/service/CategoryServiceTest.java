@@ -4,6 +4,7 @@ import io.plyschik.springbootblog.dto.CategoryDto;
 import io.plyschik.springbootblog.entity.Category;
 import io.plyschik.springbootblog.exception.CategoryAlreadyExistsException;
 import io.plyschik.springbootblog.exception.CategoryNotFoundException;
+import io.plyschik.springbootblog.mapper.CategoryMapper;
 import io.plyschik.springbootblog.repository.CategoryRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -11,23 +12,36 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 class CategoryServiceTest {
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private CategoryMapper categoryMapper = new CategoryMapper();
 
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private FeedCountStore feedCountStore;
+
+    @Mock
+    private PageCache pageCache;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
+    @Spy
+    private TopCategoriesCache topCategoriesCache = new TopCategoriesCache(Duration.ofMinutes(5));
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -102,6 +116,29 @@ class CategoryServiceTest {
         Mockito.verify(categoryRepository, Mockito.times(1)).findTop5WithPostsCount();
     }
 
+    @Test
+    public void getTop5CategoriesWithPostsCountShouldServeRepeatedCallsFromCache() {
+        Mockito.when(categoryRepository.findTop5WithPostsCount()).thenReturn(new ArrayList<>());
+
+        categoryService.getTop5CategoriesWithPostsCount();
+        categoryService.getTop5CategoriesWithPostsCount();
+
+        Mockito.verify(categoryRepository, Mockito.times(1)).findTop5WithPostsCount();
+        Assertions.assertEquals(1, topCategoriesCache.getHits());
+        Assertions.assertEquals(1, topCategoriesCache.getMisses());
+    }
+
+    @Test
+    public void deleteCategoryShouldInvalidateTop5CategoriesCache() {
+        Mockito.when(categoryRepository.findTop5WithPostsCount()).thenReturn(new ArrayList<>());
+
+        categoryService.getTop5CategoriesWithPostsCount();
+        categoryService.deleteCategory(1);
+        categoryService.getTop5CategoriesWithPostsCount();
+
+        Mockito.verify(categoryRepository, Mockito.times(2)).findTop5WithPostsCount();
+    }
+
     @Test
     public void createCategoryShouldThrowCategoryAlreadyExistsExceptionWhenCategoryNameIsNotUnique() {
         CategoryDto categoryDto = new CategoryDto();
@@ -122,28 +159,27 @@ class CategoryServiceTest {
         CategoryDto categoryDto = new CategoryDto();
         categoryDto.setName("Test");
 
-        Category category = new Category();
-
         Mockito.when(categoryRepository.existsByName(categoryDto.getName())).thenReturn(false);
-        Mockito.when(modelMapper.map(categoryDto, Category.class)).thenReturn(category);
         Mockito.when(categoryRepository.save(Mockito.any(Category.class))).thenAnswer(i -> i.getArguments()[0]);
 
         categoryService.createCategory(categoryDto);
 
         Mockito.verify(categoryRepository, Mockito.times(1)).existsByName(categoryDto.getName());
-        Mockito.verify(categoryRepository, Mockito.times(1)).save(category);
+        Mockito.verify(categoryRepository, Mockito.times(1)).save(
+            Mockito.argThat(category -> category.getName().equals("Test"))
+        );
     }
 
     @Test
     public void getCategoryForEditShouldCallFindByIdMethodFromCategoryRepositoryAndReturnCategoryDtoWhenExists() {
         Category category = new Category();
+        category.setName("Test");
 
         Mockito.when(categoryRepository.findById(1L)).thenReturn(Optional.of(category));
-        Mockito.when(modelMapper.map(category, CategoryDto.class)).thenReturn(new CategoryDto());
 
         CategoryDto categoryDto = categoryService.getCategoryForEdit(1);
 
-        Assertions.assertNotNull(categoryDto);
+        Assertions.assertEquals("Test", categoryDto.getName());
         Mockito.verify(categoryRepository, Mockito.times(1)).findById(1L);
     }
 
@@ -215,5 +251,6 @@ class CategoryServiceTest {
         categoryService.deleteCategory(1);
 
         Mockito.verify(categoryRepository, Mockito.times(1)).deleteById(1L);
+        Mockito.verify(feedCountStore, Mockito.times(1)).evict(FeedCountStore.publishedPostsByCategory(1));
     }
 }
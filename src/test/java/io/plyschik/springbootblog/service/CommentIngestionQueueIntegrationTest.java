@@ -0,0 +1,146 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.TestUtils;
+import io.plyschik.springbootblog.dto.CommentAuthor;
+import io.plyschik.springbootblog.dto.PostsCommentApiResponse;
+import io.plyschik.springbootblog.entity.Comment;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.entity.User.Role;
+import io.plyschik.springbootblog.repository.CommentRepository;
+import io.plyschik.springbootblog.repository.PostRepository;
+import io.plyschik.springbootblog.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Not @Transactional: the queue commits its own batches, so the test cleans up after itself instead.
+@SpringBootTest
+class CommentIngestionQueueIntegrationTest {
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private FeedCountStore feedCountStore;
+
+    @Autowired
+    private PageCache pageCache;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final CommentStream commentStream = Mockito.mock(CommentStream.class);
+
+    private CommentIngestionQueue commentIngestionQueue;
+
+    @BeforeEach
+    public void setUp() {
+        commentIngestionQueue = new CommentIngestionQueue(
+            jdbcTemplate,
+            transactionManager,
+            postService,
+            feedCountStore,
+            pageCache,
+            commentStream,
+            true,
+            10,
+            10
+        );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        commentRepository.deleteAll();
+        postRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    public void flushQueuedShouldInsertBatchAndPublishGeneratedIds() {
+        User user = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.USER);
+        Post post = testUtils.createPost("Post title", "Content", LocalDateTime.now(), user);
+        CommentAuthor author = new CommentAuthor(user.getId(), "John", "Doe");
+        long first = commentIngestionQueue.offer(post.getId(), user.getEmail(), author, "First").orElseThrow().getId();
+        long second = commentIngestionQueue.offer(post.getId(), user.getEmail(), author, "Second").orElseThrow().getId();
+
+        commentIngestionQueue.flushQueued();
+
+        List<Comment> comments = commentRepository.findAll().stream()
+            .sorted(Comparator.comparing(Comment::getId))
+            .collect(Collectors.toList());
+        Assertions.assertEquals(2, comments.size());
+        Assertions.assertEquals("First", comments.get(0).getContent());
+        Assertions.assertEquals("Second", comments.get(1).getContent());
+        Assertions.assertEquals(2, postRepository.findById(post.getId()).orElseThrow().getCommentsCount());
+        Assertions.assertEquals(2, commentIngestionQueue.getFlushedComments());
+        Assertions.assertEquals(0, commentIngestionQueue.getRejectedComments());
+        Assertions.assertTrue(commentIngestionQueue.getPending(post.getId(), user.getEmail()).isEmpty());
+        verifyCreated(post.getId(), comments.get(0).getId(), first);
+        verifyCreated(post.getId(), comments.get(1).getId(), second);
+    }
+
+    @Test
+    public void flushQueuedShouldRejectOnlyBrokenCommentsOfBatch() {
+        User user = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.USER);
+        Post post = testUtils.createPost("Post title", "Content", LocalDateTime.now(), user);
+        CommentAuthor author = new CommentAuthor(user.getId(), "John", "Doe");
+        long valid = commentIngestionQueue.offer(post.getId(), user.getEmail(), author, "Valid").orElseThrow().getId();
+        long orphan = commentIngestionQueue.offer(Long.MAX_VALUE, user.getEmail(), author, "Orphan").orElseThrow().getId();
+
+        commentIngestionQueue.flushQueued();
+
+        List<Comment> comments = commentRepository.findAll();
+        Assertions.assertEquals(1, comments.size());
+        Assertions.assertEquals("Valid", comments.get(0).getContent());
+        Assertions.assertEquals(1, postRepository.findById(post.getId()).orElseThrow().getCommentsCount());
+        Assertions.assertEquals(1, commentIngestionQueue.getFlushedComments());
+        Assertions.assertEquals(1, commentIngestionQueue.getRejectedComments());
+        Assertions.assertTrue(commentIngestionQueue.getPending(Long.MAX_VALUE, user.getEmail()).isEmpty());
+        verifyCreated(post.getId(), comments.get(0).getId(), valid);
+        Mockito.verify(commentStream).publish(
+            Long.MAX_VALUE,
+            CommentStream.REJECTED,
+            orphan,
+            Map.of("pendingId", orphan)
+        );
+    }
+
+    private void verifyCreated(long postId, long commentId, long pendingId) {
+        Mockito.verify(commentStream).publish(
+            ArgumentMatchers.eq(postId),
+            ArgumentMatchers.eq(CommentStream.CREATED),
+            ArgumentMatchers.eq(commentId),
+            ArgumentMatchers.argThat(payload -> payload instanceof PostsCommentApiResponse.Comment
+                && Long.valueOf(pendingId).equals(((PostsCommentApiResponse.Comment) payload).getPendingId())
+                && !((PostsCommentApiResponse.Comment) payload).isPending())
+        );
+    }
+}
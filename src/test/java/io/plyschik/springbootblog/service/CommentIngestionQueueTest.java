@@ -0,0 +1,68 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.CommentAuthor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.Optional;
+
+class CommentIngestionQueueTest {
+    private static final CommentAuthor AUTHOR = new CommentAuthor(1, "John", "Doe");
+
+    private final CommentIngestionQueue commentIngestionQueue = new CommentIngestionQueue(
+        Mockito.mock(JdbcTemplate.class),
+        Mockito.mock(PlatformTransactionManager.class),
+        Mockito.mock(PostService.class),
+        Mockito.mock(FeedCountStore.class),
+        Mockito.mock(PageCache.class),
+        Mockito.mock(CommentStream.class),
+        true,
+        2,
+        10
+    );
+
+    @Test
+    public void getPendingShouldReturnOnlyAuthorCommentsNewestFirst() {
+        CommentIngestionQueue.PendingComment first = commentIngestionQueue.offer(1, "john@sbb.net", AUTHOR, "First")
+            .orElseThrow();
+        CommentIngestionQueue.PendingComment second = commentIngestionQueue.offer(1, "john@sbb.net", AUTHOR, "Second")
+            .orElseThrow();
+
+        List<CommentIngestionQueue.PendingComment> pending = commentIngestionQueue.getPending(1, "john@sbb.net");
+
+        Assertions.assertEquals(List.of(second, first), pending);
+        Assertions.assertTrue(commentIngestionQueue.getPending(1, "other@sbb.net").isEmpty());
+        Assertions.assertTrue(commentIngestionQueue.getPending(2, "john@sbb.net").isEmpty());
+    }
+
+    @Test
+    public void offerShouldRejectCommentWhenQueueIsFull() {
+        commentIngestionQueue.offer(1, "john@sbb.net", AUTHOR, "First");
+        commentIngestionQueue.offer(1, "john@sbb.net", AUTHOR, "Second");
+
+        Optional<CommentIngestionQueue.PendingComment> rejected = commentIngestionQueue.offer(
+            1,
+            "john@sbb.net",
+            AUTHOR,
+            "Third"
+        );
+
+        Assertions.assertTrue(rejected.isEmpty());
+        Assertions.assertEquals(1, commentIngestionQueue.getRejectedComments());
+        Assertions.assertEquals(2, commentIngestionQueue.getPending(1, "john@sbb.net").size());
+    }
+
+    @Test
+    public void pendingCommentShouldBeMarkedAsPendingWithTemporaryId() {
+        CommentIngestionQueue.PendingComment comment = commentIngestionQueue.offer(1, "john@sbb.net", AUTHOR, "First")
+            .orElseThrow();
+
+        Assertions.assertTrue(comment.toComment().isPending());
+        Assertions.assertTrue(comment.toComment().getId() < 0);
+        Assertions.assertEquals("John", comment.toComment().getUser().getFirstName());
+    }
+}
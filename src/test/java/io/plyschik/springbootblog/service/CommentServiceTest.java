@@ -1,6 +1,10 @@
 package io.plyschik.springbootblog.service;
 
+import io.plyschik.springbootblog.dto.CommentAuthor;
+import io.plyschik.springbootblog.dto.CommentDto;
+import io.plyschik.springbootblog.dto.PostsCommentApiResponse;
 import io.plyschik.springbootblog.exception.PostNotFoundException;
+import io.plyschik.springbootblog.mapper.CommentMapper;
 import io.plyschik.springbootblog.repository.CommentRepository;
 import io.plyschik.springbootblog.security.CommentPermissionsChecker;
 import org.junit.jupiter.api.Assertions;
@@ -9,15 +13,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.core.Authentication;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
 @ExtendWith(MockitoExtension.class)
 class CommentServiceTest {
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private CommentMapper commentMapper = new CommentMapper();
 
     @Mock
     private UserService userService;
@@ -31,6 +39,18 @@ class CommentServiceTest {
     @Mock
     private CommentPermissionsChecker commentPermissionsChecker;
 
+    @Mock
+    private FeedCountStore feedCountStore;
+
+    @Mock
+    private PageCache pageCache;
+
+    @Mock
+    private CommentStream commentStream;
+
+    @Mock
+    private CommentIngestionQueue commentIngestionQueue;
+
     @InjectMocks
     private CommentService commentService;
 
@@ -56,4 +76,50 @@ class CommentServiceTest {
 
         Mockito.verify(commentRepository, Mockito.times(1)).deleteById(1L);
     }
+
+    @Test
+    public void deleteCommentShouldDecrementPostCommentsCount() {
+        Mockito.when(commentRepository.findPostIdById(1L)).thenReturn(Optional.of(2L));
+
+        commentService.deleteCommentById(1);
+
+        Mockito.verify(feedCountStore, Mockito.times(1)).decrement(List.of(FeedCountStore.commentsByPost(2)));
+    }
+
+    @Test
+    public void deleteCommentShouldEvictCachedPostPage() {
+        Mockito.when(commentRepository.findPostIdById(1L)).thenReturn(Optional.of(2L));
+
+        commentService.deleteCommentById(1);
+
+        Mockito.verify(pageCache, Mockito.times(1)).evict(PageCache.post(2));
+    }
+
+    @Test
+    public void deleteCommentShouldPublishDeletedEventToPostStream() {
+        Mockito.when(commentRepository.findPostIdById(1L)).thenReturn(Optional.of(2L));
+
+        commentService.deleteCommentById(1);
+
+        Mockito.verify(commentStream, Mockito.times(1)).publish(2L, CommentStream.DELETED, 1L, Map.of("id", 1L));
+    }
+
+    @Test
+    public void createCommentShouldEnqueueCommentWithoutLoadingPostWhenIngestionIsEnabled() {
+        Authentication authentication = Mockito.mock(Authentication.class);
+        Mockito.when(authentication.getName()).thenReturn("user@sbb.net");
+        CommentAuthor author = new CommentAuthor(1, "John", "Doe");
+        CommentIngestionQueue.PendingComment pendingComment = Mockito.mock(CommentIngestionQueue.PendingComment.class);
+        Mockito.when(pendingComment.toComment()).thenReturn(new PostsCommentApiResponse.Comment());
+        Mockito.when(commentIngestionQueue.isEnabled()).thenReturn(true);
+        Mockito.when(userService.getCommentAuthor(authentication)).thenReturn(author);
+        Mockito.when(postService.existsById(2)).thenReturn(true);
+        Mockito.when(commentIngestionQueue.offer(2, "user@sbb.net", author, "Test comment"))
+            .thenReturn(Optional.of(pendingComment));
+
+        commentService.createComment(2, new CommentDto("Test comment"), authentication);
+
+        Mockito.verify(postService, Mockito.never()).getPostById(Mockito.anyLong());
+        Mockito.verify(commentRepository, Mockito.never()).save(Mockito.any());
+    }
 }
@@ -0,0 +1,81 @@
+package io.plyschik.springbootblog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class CommentStreamTest {
+    private final CommentStream commentStream = new CommentStream(new ObjectMapper(), 1, 2, Duration.ofMinutes(1));
+
+    @AfterEach
+    public void tearDown() {
+        commentStream.shutdown();
+    }
+
+    @Test
+    public void publishShouldDeliverEventsOnlyToSubscribersOfPost() throws InterruptedException {
+        RecordingEmitter subscriber = new RecordingEmitter(new CountDownLatch(0));
+        RecordingEmitter otherPostSubscriber = new RecordingEmitter(new CountDownLatch(0));
+        commentStream.subscribe(1, subscriber);
+        commentStream.subscribe(2, otherPostSubscriber);
+
+        commentStream.publish(1, CommentStream.DELETED, 3, Map.of("id", 3));
+
+        Assertions.assertTrue(subscriber.delivered.await(1, TimeUnit.SECONDS));
+        Assertions.assertEquals(1, subscriber.events.size());
+        Assertions.assertTrue(otherPostSubscriber.events.isEmpty());
+    }
+
+    @Test
+    public void publishShouldDropSubscriberWhenItsQueueIsFull() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slowSubscriber = new RecordingEmitter(release);
+        commentStream.subscribe(1, slowSubscriber);
+
+        commentStream.publish(1, CommentStream.CREATED, 1, Map.of("id", 1));
+        Assertions.assertTrue(slowSubscriber.sending.await(1, TimeUnit.SECONDS));
+
+        commentStream.publish(1, CommentStream.CREATED, 2, Map.of("id", 2));
+        commentStream.publish(1, CommentStream.CREATED, 3, Map.of("id", 3));
+        commentStream.publish(1, CommentStream.CREATED, 4, Map.of("id", 4));
+        release.countDown();
+
+        Assertions.assertEquals(1, commentStream.getDroppedSubscribers());
+        Assertions.assertEquals(0, commentStream.getSubscribersCount());
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<SseEventBuilder> events = new CopyOnWriteArrayList<>();
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch delivered = new CountDownLatch(1);
+        private final CountDownLatch release;
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+
+            try {
+                release.await(1, TimeUnit.SECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+
+            events.add(builder);
+            delivered.countDown();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package io.plyschik.springbootblog.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+class CommentsWidgetMessagesTest {
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    public void getJsonShouldReturnBundleOfRequestedLanguage() throws Exception {
+        CommentsWidgetMessages commentsWidgetMessages = new CommentsWidgetMessages(
+            createMessageSource(),
+            objectMapper,
+            List.of("en", "pl")
+        );
+
+        Map<?, ?> english = objectMapper.readValue(commentsWidgetMessages.getJson(Locale.US), Map.class);
+        Map<?, ?> polish = objectMapper.readValue(commentsWidgetMessages.getJson(new Locale("pl", "PL")), Map.class);
+
+        Assertions.assertEquals("Load more comments", english.get("load_more"));
+        Assertions.assertEquals("Wczytaj więcej komentarzy", polish.get("load_more"));
+        Assertions.assertEquals(15, english.size());
+    }
+
+    @Test
+    public void getJsonShouldFallBackToDefaultLanguageAndReuseSameString() throws Exception {
+        CommentsWidgetMessages commentsWidgetMessages = new CommentsWidgetMessages(
+            createMessageSource(),
+            objectMapper,
+            List.of("en", "pl")
+        );
+
+        Assertions.assertSame(commentsWidgetMessages.getJson(Locale.ENGLISH), commentsWidgetMessages.getJson(Locale.GERMAN));
+    }
+
+    private static ResourceBundleMessageSource createMessageSource() {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasename("messages");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+
+        return messageSource;
+    }
+}
@@ -0,0 +1,105 @@
+package io.plyschik.springbootblog.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class FeedCountStoreTest {
+    private final FeedCountStore feedCountStore = new FeedCountStore(3);
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void getCountShouldLoadCountOnlyOnce() {
+        AtomicLong loads = new AtomicLong();
+
+        feedCountStore.getCount("posts", () -> loads.incrementAndGet() + 9);
+        long count = feedCountStore.getCount("posts", () -> loads.incrementAndGet() + 9);
+
+        Assertions.assertEquals(10, count);
+        Assertions.assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void incrementAndDecrementShouldUpdateOnlyLoadedCounts() {
+        feedCountStore.getCount("posts", () -> 10);
+
+        feedCountStore.increment(List.of("posts", "posts:tag:1"));
+        feedCountStore.increment(List.of("posts"));
+        feedCountStore.decrement(List.of("posts"));
+
+        Assertions.assertEquals(11, feedCountStore.getCount("posts", () -> 0));
+        Assertions.assertEquals(3, feedCountStore.getCount("posts:tag:1", () -> 3));
+    }
+
+    @Test
+    public void reconcileShouldReplaceDriftedCountsWithFreshValues() {
+        AtomicLong actual = new AtomicLong(5);
+        feedCountStore.getCount("posts", actual::get);
+        feedCountStore.increment(List.of("posts"));
+        actual.set(4);
+
+        feedCountStore.reconcile();
+
+        Assertions.assertEquals(4, feedCountStore.getCount("posts", actual::get));
+    }
+
+    @Test
+    public void incrementShouldWaitForTransactionCommit() {
+        feedCountStore.getCount("posts", () -> 10);
+        TransactionSynchronizationManager.initSynchronization();
+
+        feedCountStore.increment(List.of("posts"));
+
+        Assertions.assertEquals(10, feedCountStore.getCount("posts", () -> 0));
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertEquals(11, feedCountStore.getCount("posts", () -> 0));
+    }
+
+    @Test
+    public void reconcileShouldDropCommentCountsInsteadOfRecountingThem() {
+        AtomicLong loads = new AtomicLong();
+        feedCountStore.getCount("comments:post:1", () -> loads.incrementAndGet() + 4);
+
+        feedCountStore.reconcile();
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(0, feedCountStore.getSize());
+        Assertions.assertEquals(6, feedCountStore.getCount("comments:post:1", () -> loads.incrementAndGet() + 4));
+    }
+
+    @Test
+    public void getCountShouldEvictLeastRecentlyUsedCountsWhenFull() {
+        feedCountStore.getCount("comments:post:1", () -> 1);
+        feedCountStore.getCount("comments:post:2", () -> 2);
+        feedCountStore.getCount("comments:post:3", () -> 3);
+        feedCountStore.getCount("comments:post:1", () -> 0);
+
+        feedCountStore.getCount("comments:post:4", () -> 4);
+
+        Assertions.assertEquals(3, feedCountStore.getSize());
+        Assertions.assertEquals(1, feedCountStore.getCount("comments:post:1", () -> 0));
+        Assertions.assertEquals(0, feedCountStore.getCount("comments:post:2", () -> 0));
+    }
+
+    @Test
+    public void evictShouldForceReload() {
+        feedCountStore.getCount("posts", () -> 1);
+
+        feedCountStore.evict("posts");
+
+        Assertions.assertEquals(2, feedCountStore.getCount("posts", () -> 2));
+    }
+}
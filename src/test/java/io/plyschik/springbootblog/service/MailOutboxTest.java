@@ -0,0 +1,122 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.entity.OutboxMail;
+import io.plyschik.springbootblog.repository.OutboxMailRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.IContext;
+
+import javax.mail.Session;
+import javax.mail.internet.MimeMessage;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MailOutboxTest {
+    private final OutboxMailRepository outboxMailRepository = Mockito.mock(OutboxMailRepository.class);
+    private final JavaMailSender mailSender = Mockito.mock(JavaMailSender.class);
+    private final ITemplateEngine templateEngine = Mockito.mock(ITemplateEngine.class);
+
+    private final MailOutbox mailOutbox = new MailOutbox(
+        outboxMailRepository,
+        mailSender,
+        templateEngine,
+        Mockito.mock(PlatformTransactionManager.class),
+        20,
+        8,
+        Duration.ofSeconds(30)
+    );
+
+    @BeforeEach
+    public void setUp() {
+        Mockito.when(mailSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage((Session) null));
+        Mockito.when(templateEngine.process(ArgumentMatchers.anyString(), ArgumentMatchers.any(IContext.class)))
+            .thenReturn("<p>Hello</p>");
+    }
+
+    @Test
+    public void enqueueShouldPersistMailDueImmediately() {
+        mailOutbox.enqueue("john@sbb.net", "Account activation", "email/account_activation", Map.of("link", "/"));
+
+        Mockito.verify(outboxMailRepository).save(ArgumentMatchers.argThat(mail ->
+            mail.getRecipient().equals("john@sbb.net")
+                && mail.getTemplate().equals("email/account_activation")
+                && mail.getAttempts() == 0
+                && !mail.getNextAttemptAt().isAfter(LocalDateTime.now())
+        ));
+        Mockito.verifyNoInteractions(mailSender);
+    }
+
+    @Test
+    public void dispatchShouldSendWholeBatchAtOnceAndDeleteSentMails() {
+        OutboxMail first = createMail("first@sbb.net");
+        OutboxMail second = createMail("second@sbb.net");
+        Mockito.when(outboxMailRepository.findAllDue(
+            ArgumentMatchers.any(LocalDateTime.class),
+            ArgumentMatchers.eq(8),
+            ArgumentMatchers.any(Pageable.class)
+        )).thenReturn(List.of(first, second));
+        AtomicInteger sentMessages = new AtomicInteger();
+        Mockito.doAnswer(invocation -> sentMessages.addAndGet(invocation.getArguments().length))
+            .when(mailSender).send(ArgumentMatchers.<MimeMessage[]>any());
+
+        mailOutbox.dispatch();
+
+        Mockito.verify(mailSender, Mockito.times(1)).send(ArgumentMatchers.<MimeMessage[]>any());
+        Assertions.assertEquals(2, sentMessages.get());
+        Mockito.verify(outboxMailRepository).deleteAll(List.of(first, second));
+        Assertions.assertEquals(2, mailOutbox.getSentMails());
+        Assertions.assertEquals(0, mailOutbox.getFailedAttempts());
+    }
+
+    @Test
+    public void dispatchShouldRescheduleOnlyRejectedMails() throws Exception {
+        OutboxMail first = createMail("first@sbb.net");
+        OutboxMail second = createMail("second@sbb.net");
+        Mockito.when(outboxMailRepository.findAllDue(
+            ArgumentMatchers.any(LocalDateTime.class),
+            ArgumentMatchers.eq(8),
+            ArgumentMatchers.any(Pageable.class)
+        )).thenReturn(List.of(first, second));
+        Mockito.doAnswer(invocation -> {
+            for (Object message: invocation.getArguments()) {
+                if (((MimeMessage) message).getAllRecipients()[0].toString().equals("second@sbb.net")) {
+                    throw new MailSendException(Map.of(message, new IllegalStateException("Mailbox unavailable")));
+                }
+            }
+
+            return null;
+        }).when(mailSender).send(ArgumentMatchers.<MimeMessage[]>any());
+
+        mailOutbox.dispatch();
+
+        Mockito.verify(outboxMailRepository).deleteAll(List.of(first));
+        Assertions.assertEquals(0, first.getAttempts());
+        Assertions.assertEquals(1, second.getAttempts());
+        Assertions.assertEquals("Mailbox unavailable", second.getLastError());
+        Assertions.assertTrue(second.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(20)));
+        Assertions.assertEquals(1, mailOutbox.getSentMails());
+        Assertions.assertEquals(1, mailOutbox.getFailedAttempts());
+    }
+
+    private static OutboxMail createMail(String recipient) {
+        OutboxMail mail = new OutboxMail();
+        mail.setRecipient(recipient);
+        mail.setSubject("Account activation");
+        mail.setTemplate("email/account_activation");
+        mail.setVariables(Map.of("userFullName", "John Doe"));
+        mail.setNextAttemptAt(LocalDateTime.now());
+
+        return mail;
+    }
+}
@@ -0,0 +1,78 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.PostHeading;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class MarkdownToHTMLParserTest {
+    private final MarkdownToHTMLParser markdownToHTMLParser = new MarkdownToHTMLParser(2);
+
+    @Test
+    public void renderShouldReturnHtmlWithHeadingAnchors() {
+        RenderedMarkdown renderedMarkdown = markdownToHTMLParser.render("# Introduction\n\nFirst paragraph.");
+
+        Assertions.assertEquals(
+            "<h1 id=\"introduction\">Introduction</h1>\n<p>First paragraph.</p>\n",
+            renderedMarkdown.getHtml()
+        );
+    }
+
+    @Test
+    public void renderShouldExtractOutlineWithUniqueAnchors() {
+        RenderedMarkdown renderedMarkdown = markdownToHTMLParser.render(
+            "# Zażółć gęślą jaźń\n\n## Setup\n\ntext\n\n## Setup\n\ntext"
+        );
+
+        Assertions.assertEquals(
+            List.of(
+                new PostHeading(1, "Zażółć gęślą jaźń", "zażółć-gęślą-jaźń"),
+                new PostHeading(2, "Setup", "setup"),
+                new PostHeading(2, "Setup", "setup-1")
+            ),
+            renderedMarkdown.getOutline()
+        );
+    }
+
+    @Test
+    public void renderShouldCreateExcerptFromParagraphsOnly() {
+        RenderedMarkdown renderedMarkdown = markdownToHTMLParser.render(
+            "# Title\n\nSome *emphasized* text\nwith `code`.\n\n```\nignored code block\n```"
+        );
+
+        Assertions.assertEquals("Some emphasized text with code.", renderedMarkdown.getExcerpt());
+        Assertions.assertEquals(6, renderedMarkdown.getWordCount());
+        Assertions.assertEquals(1, renderedMarkdown.getReadingTime());
+    }
+
+    @Test
+    public void renderShouldTruncateLongExcerptOnWordBoundary() {
+        String paragraph = "word ".repeat(200).trim();
+        RenderedMarkdown renderedMarkdown = markdownToHTMLParser.render(paragraph + "\n\n" + paragraph);
+
+        Assertions.assertTrue(renderedMarkdown.getExcerpt().length() <= 301);
+        Assertions.assertTrue(renderedMarkdown.getExcerpt().endsWith("word…"));
+        Assertions.assertEquals(400, renderedMarkdown.getWordCount());
+        Assertions.assertEquals(2, renderedMarkdown.getReadingTime());
+    }
+
+    @Test
+    public void renderShouldServeUnchangedMarkdownFromCache() {
+        RenderedMarkdown first = markdownToHTMLParser.render("# Title\n\nContent.");
+        RenderedMarkdown second = markdownToHTMLParser.render("# Title\n\nContent.");
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, markdownToHTMLParser.getRenders());
+        Assertions.assertEquals(1, markdownToHTMLParser.getCacheHits());
+    }
+
+    @Test
+    public void renderShouldKeepHeadingAnchorsSeparateBetweenDocuments() {
+        markdownToHTMLParser.render("# Setup\n\ntext");
+        RenderedMarkdown renderedMarkdown = markdownToHTMLParser.render("# Setup\n\nother text");
+
+        Assertions.assertEquals("<h1 id=\"setup\">Setup</h1>\n<p>other text</p>\n", renderedMarkdown.getHtml());
+        Assertions.assertEquals(2, markdownToHTMLParser.getRenders());
+    }
+}
@@ -0,0 +1,73 @@
+package io.plyschik.springbootblog.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Random;
+import java.util.Set;
+
+class PageCacheTest {
+    private final PageCache pageCache = new PageCache(DataSize.ofKilobytes(4));
+
+    @Test
+    public void getShouldReturnCompressedPage() {
+        byte[] content = "<html>Test content</html>".getBytes(StandardCharsets.UTF_8);
+
+        pageCache.put("en /", "text/html", "W/\"1\"", 1000, content, Set.of(PageCache.postLists()));
+        PageCache.Page page = pageCache.get("en /").orElseThrow();
+
+        Assertions.assertEquals("text/html", page.getContentType());
+        Assertions.assertEquals("W/\"1\"", page.getETag());
+        Assertions.assertEquals(1000, page.getLastModified());
+        Assertions.assertArrayEquals(content, PageCache.decompress(page.getCompressedContent()));
+    }
+
+    @Test
+    public void evictShouldRemoveOnlyDependentPages() {
+        pageCache.put("en /posts/1", "text/html", null, -1, new byte[10], Set.of(PageCache.post(1)));
+        pageCache.put("en /posts/2", "text/html", null, -1, new byte[10], Set.of(PageCache.post(2)));
+
+        pageCache.evict(PageCache.post(1));
+
+        Assertions.assertTrue(pageCache.get("en /posts/1").isEmpty());
+        Assertions.assertTrue(pageCache.get("en /posts/2").isPresent());
+    }
+
+    @Test
+    public void evictShouldAdvanceLastModifiedOfDependency() {
+        Instant initial = pageCache.getLastModified(PageCache.postLists(), PageCache.sidebar());
+
+        pageCache.evict(PageCache.sidebar());
+
+        Assertions.assertFalse(pageCache.getLastModified(PageCache.postLists()).isAfter(initial));
+        Assertions.assertFalse(pageCache.getLastModified(PageCache.sidebar()).isBefore(initial));
+        Assertions.assertEquals(
+            pageCache.getLastModified(PageCache.sidebar()),
+            pageCache.getLastModified(PageCache.postLists(), PageCache.sidebar())
+        );
+    }
+
+    @Test
+    public void putShouldEvictLeastRecentlyUsedPagesWhenMemoryBudgetIsExceeded() {
+        pageCache.put("en /posts/1", "text/html", null, -1, randomBytes(1500), Set.of(PageCache.post(1)));
+        pageCache.put("en /posts/2", "text/html", null, -1, randomBytes(1500), Set.of(PageCache.post(2)));
+        pageCache.get("en /posts/1");
+
+        pageCache.put("en /posts/3", "text/html", null, -1, randomBytes(1500), Set.of(PageCache.post(3)));
+
+        Assertions.assertTrue(pageCache.get("en /posts/1").isPresent());
+        Assertions.assertTrue(pageCache.get("en /posts/2").isEmpty());
+        Assertions.assertTrue(pageCache.get("en /posts/3").isPresent());
+        Assertions.assertTrue(pageCache.getSize() <= DataSize.ofKilobytes(4).toBytes());
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+
+        return bytes;
+    }
+}
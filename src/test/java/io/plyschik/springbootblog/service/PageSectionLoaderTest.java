@@ -0,0 +1,88 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.exception.PageSectionTimeoutException;
+import io.plyschik.springbootblog.exception.PostNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class PageSectionLoaderTest {
+    private final PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+    private final PageSectionLoader pageSectionLoader = new PageSectionLoader(
+        transactionManager,
+        2,
+        10,
+        Duration.ofMillis(500)
+    );
+
+    @AfterEach
+    public void tearDown() {
+        pageSectionLoader.shutdown();
+    }
+
+    @Test
+    public void loadShouldRunSectionsConcurrently() {
+        CountDownLatch started = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = pageSectionLoader.load(() -> awaitOther(started));
+        CompletableFuture<Boolean> second = pageSectionLoader.load(() -> awaitOther(started));
+
+        Assertions.assertTrue(pageSectionLoader.join(first));
+        Assertions.assertTrue(pageSectionLoader.join(second));
+    }
+
+    @Test
+    public void joinShouldRethrowSectionException() {
+        CompletableFuture<Object> section = pageSectionLoader.load(() -> {
+            throw new PostNotFoundException();
+        });
+
+        Assertions.assertThrows(PostNotFoundException.class, () -> pageSectionLoader.join(section));
+    }
+
+    @Test
+    public void joinShouldThrowPageSectionTimeoutExceptionWhenSectionIsTooSlow() {
+        CompletableFuture<Boolean> section = pageSectionLoader.load(() -> awaitOther(new CountDownLatch(2)));
+
+        Assertions.assertThrows(PageSectionTimeoutException.class, () -> pageSectionLoader.join(section));
+    }
+
+    @Test
+    public void loadShouldBoundSectionQueriesWithTransactionTimeout() {
+        pageSectionLoader.join(pageSectionLoader.load(() -> true));
+
+        Mockito.verify(transactionManager).getTransaction(ArgumentMatchers.argThat(definition ->
+            definition.isReadOnly() && definition.getTimeout() == 1
+        ));
+    }
+
+    @Test
+    public void joinShouldThrowPageSectionTimeoutExceptionWhenQueryTimesOut() {
+        CompletableFuture<Object> section = pageSectionLoader.load(() -> {
+            throw new QueryTimeoutException("Query timed out");
+        });
+
+        Assertions.assertThrows(PageSectionTimeoutException.class, () -> pageSectionLoader.join(section));
+    }
+
+    private static boolean awaitOther(CountDownLatch started) {
+        started.countDown();
+
+        try {
+            return started.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.TestUtils;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.entity.User.Role;
+import io.plyschik.springbootblog.repository.PostRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.LocalDateTime;
+
+@SpringBootTest
+@Transactional
+class PostDerivedFieldsIntegrationTest {
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2020, 1, 1, 12, 0);
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void fillMissingDerivedFieldsShouldNotTouchUpdatedAt() {
+        User user = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.ADMINISTRATOR);
+        Post post = testUtils.createPost("Legacy post", "# Heading\n\nLegacy content", LocalDateTime.now(), user);
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE posts SET updated_at = :updatedAt WHERE id = :id")
+            .setParameter("updatedAt", UPDATED_AT)
+            .setParameter("id", post.getId())
+            .executeUpdate();
+        entityManager.clear();
+
+        postService.fillMissingDerivedFields();
+        entityManager.flush();
+        entityManager.clear();
+
+        Post backfilled = postRepository.findById(post.getId()).orElseThrow();
+        Assertions.assertNotNull(backfilled.getExcerpt());
+        Assertions.assertTrue(backfilled.getContent().contains("<h1"));
+        Assertions.assertEquals(1, backfilled.getOutline().size());
+        Assertions.assertEquals(UPDATED_AT, backfilled.getUpdatedAt());
+    }
+}
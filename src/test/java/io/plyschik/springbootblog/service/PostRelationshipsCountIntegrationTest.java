@@ -0,0 +1,133 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.TestUtils;
+import io.plyschik.springbootblog.dto.CommentDto;
+import io.plyschik.springbootblog.dto.PostDto;
+import io.plyschik.springbootblog.dto.PostFilter;
+import io.plyschik.springbootblog.dto.PostWithRelationshipsCount;
+import io.plyschik.springbootblog.entity.Post;
+import io.plyschik.springbootblog.entity.Tag;
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.entity.User.Role;
+import io.plyschik.springbootblog.repository.PostRepository;
+import io.plyschik.springbootblog.security.UserPrincipal;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@SpringBootTest
+@Transactional
+class PostRelationshipsCountIntegrationTest {
+    private static final String TITLE = "Counted post";
+
+    @Autowired
+    private TestUtils testUtils;
+
+    @Autowired
+    private PostService postService;
+
+    @Autowired
+    private CommentService commentService;
+
+    @Autowired
+    private TagService tagService;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    public void countsShouldFollowTagAndCommentChanges() throws Exception {
+        User user = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.ADMINISTRATOR);
+        Tag java = testUtils.createTag("Java");
+        Tag spring = testUtils.createTag("Spring");
+        Authentication authentication = authenticate(user);
+
+        Set<Long> tagIds = new HashSet<>(Set.of(java.getId(), spring.getId()));
+
+        postService.createPost(new PostDto(TITLE, "Content", null, tagIds, true), user);
+        long postId = getPostId();
+        assertCounts(2, 0);
+
+        postService.updatePost(postId, new PostDto(TITLE, "Content", null, new HashSet<>(Set.of(java.getId())), true));
+        assertCounts(1, 0);
+
+        long firstCommentId = commentService.createComment(postId, new CommentDto("First comment"), authentication)
+            .getId();
+        commentService.createComment(postId, new CommentDto("Second comment"), authentication);
+        assertCounts(1, 2);
+
+        commentService.deleteCommentById(firstCommentId);
+        assertCounts(1, 1);
+
+        tagService.deleteTag(java.getId());
+        assertCounts(0, 1);
+    }
+
+    @Test
+    public void repairRelationshipsCountsShouldFixDriftedCounts() throws Exception {
+        User user = testUtils.createUser("john.doe@sbb.net", "password", "John", "Doe", Role.ADMINISTRATOR);
+        Tag java = testUtils.createTag("Java");
+        postService.createPost(new PostDto(TITLE, "Content", null, new HashSet<>(Set.of(java.getId())), true), user);
+        long postId = getPostId();
+        commentService.createComment(postId, new CommentDto("First comment"), authenticate(user));
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE posts SET tags_count = 5, comments_count = 7 WHERE id = :id")
+            .setParameter("id", postId)
+            .executeUpdate();
+        assertCounts(5, 7);
+
+        postService.repairRelationshipsCounts();
+
+        assertCounts(1, 1);
+    }
+
+    private long getPostId() {
+        return postRepository.findAll().stream()
+            .filter(post -> post.getTitle().equals(TITLE))
+            .map(Post::getId)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private void assertCounts(int tagsCount, int commentsCount) {
+        // Every step runs in its own request in the application, so nothing may leak through the persistence context.
+        entityManager.flush();
+        entityManager.clear();
+
+        List<PostWithRelationshipsCount> posts = postService.getPostsWithRelationshipsCount(
+            PostFilter.builder().query(TITLE).build(),
+            PageRequest.of(0, 10)
+        ).getContent();
+
+        Assertions.assertEquals(1, posts.size());
+        Assertions.assertEquals(tagsCount, posts.get(0).getTagsCount());
+        Assertions.assertEquals(commentsCount, posts.get(0).getCommentsCount());
+    }
+
+    private static Authentication authenticate(User user) {
+        UserPrincipal principal = new UserPrincipal(
+            user.getId(),
+            user.getEmail(),
+            user.getPassword(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getRole(),
+            true
+        );
+
+        return new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+}
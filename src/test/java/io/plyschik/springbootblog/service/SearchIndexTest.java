@@ -0,0 +1,98 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.PostSearchDocument;
+import io.plyschik.springbootblog.repository.PostRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+class SearchIndexTest {
+    private final PostRepository postRepository = Mockito.mock(PostRepository.class);
+    private final SearchIndex searchIndex = new SearchIndex(postRepository);
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void searchShouldRankTitleMatchesHigher() {
+        LocalDateTime now = LocalDateTime.now();
+        searchIndex.index(1, "Cooking pasta", "Spring is a nice season for walks.", now);
+        searchIndex.index(2, "Spring Boot tips", "How to configure the application.", now);
+
+        Page<Long> ids = searchIndex.search("spring", PageRequest.of(0, 10));
+
+        Assertions.assertEquals(List.of(2L, 1L), ids.getContent());
+        Assertions.assertEquals(2, ids.getTotalElements());
+    }
+
+    @Test
+    public void searchShouldMatchStemmedTerms() {
+        searchIndex.index(1, "Categories", "Some content", LocalDateTime.now());
+
+        Assertions.assertEquals(List.of(1L), searchIndex.search("category", Pageable.unpaged()).getContent());
+    }
+
+    @Test
+    public void removeShouldDropDocumentFromResults() {
+        searchIndex.index(1, "Spring", "Content", LocalDateTime.now());
+
+        searchIndex.remove(1);
+
+        Assertions.assertTrue(searchIndex.search("spring", Pageable.unpaged()).isEmpty());
+    }
+
+    @Test
+    public void indexShouldApplyChangesOfTransactionOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        searchIndex.index(1, "Spring", "Content", LocalDateTime.now());
+
+        Assertions.assertTrue(searchIndex.search("spring", Pageable.unpaged()).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertEquals(List.of(1L), searchIndex.search("spring", Pageable.unpaged()).getContent());
+    }
+
+    @Test
+    public void indexShouldReplacePreviousVersionOfDocument() {
+        LocalDateTime now = LocalDateTime.now();
+        searchIndex.index(1, "Spring", "Content", now);
+        searchIndex.index(1, "Hibernate", "Content", now.plusSeconds(1));
+
+        Assertions.assertTrue(searchIndex.search("spring", Pageable.unpaged()).isEmpty());
+        Assertions.assertEquals(List.of(1L), searchIndex.search("hibernate", Pageable.unpaged()).getContent());
+    }
+
+    @Test
+    public void rebuildShouldLoadPublishedPostsAndMarkIndexAsReady() {
+        Mockito.when(postRepository.findAllPublishedSearchDocumentsAfter(Mockito.eq(0L), Mockito.any()))
+            .thenReturn(List.of(new PostSearchDocument(5L, "Spring", "Content", LocalDateTime.now())));
+
+        searchIndex.rebuild();
+
+        Assertions.assertTrue(searchIndex.isReady());
+        Assertions.assertEquals(List.of(5L), searchIndex.search("spring", Pageable.unpaged()).getContent());
+    }
+
+    @Test
+    public void searchShouldReturnEmptyPageForQueryWithoutTerms() {
+        searchIndex.index(1, "Spring", "Content", LocalDateTime.now());
+
+        Assertions.assertEquals(Collections.emptyList(), searchIndex.search("the", Pageable.unpaged()).getContent());
+    }
+}
@@ -0,0 +1,80 @@
+package io.plyschik.springbootblog.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class SearchResultCacheTest {
+    private final SearchResultCache searchResultCache = new SearchResultCache(Duration.ofMinutes(10), 2);
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void normalizeShouldFoldCaseCollapseWhitespaceAndNormalizeUnicode() {
+        Assertions.assertEquals("spring boot", SearchResultCache.normalize("  Spring \t BOOT "));
+        Assertions.assertEquals("file", SearchResultCache.normalize("\uFB01le"));
+    }
+
+    @Test
+    public void getShouldServeEquivalentQueriesFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        searchResultCache.get("Spring  Boot", query -> {
+            loads.incrementAndGet();
+
+            return List.of(2L, 1L);
+        });
+        List<Long> ids = searchResultCache.get("spring boot", query -> {
+            loads.incrementAndGet();
+
+            return List.of();
+        });
+
+        Assertions.assertEquals(List.of(2L, 1L), ids);
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, searchResultCache.getHits());
+        Assertions.assertEquals(1, searchResultCache.getMisses());
+    }
+
+    @Test
+    public void invalidateShouldForceReload() {
+        searchResultCache.get("spring", query -> List.of(1L));
+
+        searchResultCache.invalidate();
+
+        Assertions.assertEquals(List.of(2L), searchResultCache.get("spring", query -> List.of(2L)));
+    }
+
+    @Test
+    public void invalidateShouldDropResultsAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        searchResultCache.invalidate();
+        searchResultCache.get("spring", query -> List.of(1L));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertEquals(List.of(2L), searchResultCache.get("spring", query -> List.of(2L)));
+    }
+
+    @Test
+    public void getShouldEvictLeastRecentlyUsedQueriesWhenFull() {
+        searchResultCache.get("first", query -> List.of(1L));
+        searchResultCache.get("second", query -> List.of(2L));
+        searchResultCache.get("first", query -> List.of());
+        searchResultCache.get("third", query -> List.of(3L));
+
+        Assertions.assertEquals(List.of(1L), searchResultCache.get("first", query -> List.of()));
+        Assertions.assertEquals(List.of(), searchResultCache.get("second", query -> List.of()));
+    }
+}
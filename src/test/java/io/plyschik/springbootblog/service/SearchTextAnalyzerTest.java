@@ -0,0 +1,28 @@
+package io.plyschik.springbootblog.service;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class SearchTextAnalyzerTest {
+    @Test
+    public void analyzeShouldLowercaseTokenizeAndDropStopWords() {
+        List<String> terms = SearchTextAnalyzer.analyze("# The **Spring** Boot, and <b>JPA</b>!");
+
+        Assertions.assertEquals(List.of("spring", "boot", "b", "jpa", "b"), terms);
+    }
+
+    @Test
+    public void stemShouldReduceEnglishPlurals() {
+        Assertions.assertEquals("post", SearchTextAnalyzer.stem("posts"));
+        Assertions.assertEquals("category", SearchTextAnalyzer.stem("categories"));
+        Assertions.assertEquals("class", SearchTextAnalyzer.stem("class"));
+    }
+
+    @Test
+    public void stemShouldReducePolishInflections() {
+        Assertions.assertEquals(SearchTextAnalyzer.stem("wiadomości"), SearchTextAnalyzer.stem("wiadomość"));
+        Assertions.assertEquals(SearchTextAnalyzer.stem("kategoriach"), SearchTextAnalyzer.stem("kategoriami"));
+    }
+}
@@ -0,0 +1,119 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.Suggestion;
+import io.plyschik.springbootblog.entity.Tag;
+import io.plyschik.springbootblog.repository.CategoryRepository;
+import io.plyschik.springbootblog.repository.PostRepository;
+import io.plyschik.springbootblog.repository.TagRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+class SuggestionIndexTest {
+    private final PostRepository postRepository = Mockito.mock(PostRepository.class);
+    private final TagRepository tagRepository = Mockito.mock(TagRepository.class);
+    private final SuggestionIndex suggestionIndex = new SuggestionIndex(
+        postRepository,
+        tagRepository,
+        Mockito.mock(CategoryRepository.class)
+    );
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void suggestShouldMatchPrefixOfAnyWordCaseInsensitively() {
+        suggestionIndex.put(Suggestion.post(1L, "Getting started with Spring Boot"));
+        suggestionIndex.put(Suggestion.tag(2L, "Spring"));
+        suggestionIndex.put(Suggestion.category(3L, "Java"));
+
+        Assertions.assertEquals(List.of("tag:2", "post:1"), getKeys(suggestionIndex.suggest("SPR", 10)));
+        Assertions.assertEquals(List.of("post:1"), getKeys(suggestionIndex.suggest("boo", 10)));
+        Assertions.assertEquals(List.of("category:3"), getKeys(suggestionIndex.suggest("java", 10)));
+        Assertions.assertTrue(suggestionIndex.suggest("kotlin", 10).isEmpty());
+    }
+
+    @Test
+    public void suggestShouldRespectLimit() {
+        suggestionIndex.put(Suggestion.tag(1L, "java"));
+        suggestionIndex.put(Suggestion.tag(2L, "javascript"));
+        suggestionIndex.put(Suggestion.tag(3L, "javafx"));
+
+        Assertions.assertEquals(2, suggestionIndex.suggest("jav", 2).size());
+    }
+
+    @Test
+    public void putShouldReplacePreviousLabel() {
+        suggestionIndex.put(Suggestion.category(1L, "Programming"));
+        suggestionIndex.put(Suggestion.category(1L, "Databases"));
+
+        Assertions.assertTrue(suggestionIndex.suggest("prog", 10).isEmpty());
+        Assertions.assertEquals("Databases", suggestionIndex.suggest("data", 10).get(0).getLabel());
+    }
+
+    @Test
+    public void removeShouldKeepSuggestionsSharingPrefix() {
+        suggestionIndex.put(Suggestion.tag(1L, "spring"));
+        suggestionIndex.put(Suggestion.tag(2L, "spring boot"));
+        suggestionIndex.put(Suggestion.tag(3L, "sprint"));
+
+        suggestionIndex.remove(Suggestion.key("tag", 2L));
+
+        Assertions.assertEquals(List.of("tag:1", "tag:3"), getKeys(suggestionIndex.suggest("spr", 10)));
+        Assertions.assertTrue(suggestionIndex.suggest("boot", 10).isEmpty());
+    }
+
+    @Test
+    public void putShouldApplyChangesOfTransactionOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        suggestionIndex.put(Suggestion.tag(1L, "Spring"));
+
+        Assertions.assertTrue(suggestionIndex.suggest("spr", 10).isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertEquals(List.of("tag:1"), getKeys(suggestionIndex.suggest("spr", 10)));
+    }
+
+    @Test
+    public void rebuildShouldNotRestoreSuggestionsChangedMeanwhile() {
+        Mockito.when(postRepository.findAllPublishedTitleSuggestions()).thenAnswer(invocation -> {
+            // The post is unpublished and the tag renamed while the rebuild is still reading.
+            suggestionIndex.remove(Suggestion.key("post", 1L));
+            suggestionIndex.put(Suggestion.tag(2L, "Kotlin"));
+
+            return List.of(Suggestion.post(1L, "Spring Boot tips"));
+        });
+        Tag java = createTag(2L, "Java");
+        Mockito.when(tagRepository.findAll()).thenReturn(List.of(java));
+
+        suggestionIndex.rebuild();
+
+        Assertions.assertTrue(suggestionIndex.suggest("spring", 10).isEmpty());
+        Assertions.assertTrue(suggestionIndex.suggest("java", 10).isEmpty());
+        Assertions.assertEquals(List.of("tag:2"), getKeys(suggestionIndex.suggest("kot", 10)));
+    }
+
+    private static Tag createTag(long id, String name) {
+        Tag tag = Mockito.mock(Tag.class);
+        Mockito.when(tag.getId()).thenReturn(id);
+        Mockito.when(tag.getName()).thenReturn(name);
+
+        return tag;
+    }
+
+    private static List<String> getKeys(List<Suggestion> suggestions) {
+        return suggestions.stream().map(Suggestion::getKey).collect(Collectors.toList());
+    }
+}
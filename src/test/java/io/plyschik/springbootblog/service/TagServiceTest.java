@@ -4,6 +4,8 @@ import io.plyschik.springbootblog.dto.TagDto;
 import io.plyschik.springbootblog.entity.Tag;
 import io.plyschik.springbootblog.exception.TagAlreadyExistsException;
 import io.plyschik.springbootblog.exception.TagNotFoundException;
+import io.plyschik.springbootblog.mapper.TagMapper;
+import io.plyschik.springbootblog.repository.PostRepository;
 import io.plyschik.springbootblog.repository.TagRepository;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -11,8 +13,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -22,12 +24,24 @@ import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 class TagServiceTest {
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private TagMapper tagMapper = new TagMapper();
 
     @Mock
     private TagRepository tagRepository;
 
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private FeedCountStore feedCountStore;
+
+    @Mock
+    private PageCache pageCache;
+
+    @Mock
+    private SuggestionIndex suggestionIndex;
+
     @InjectMocks
     private TagService tagService;
 
@@ -113,28 +127,25 @@ class TagServiceTest {
         TagDto tagDto = new TagDto();
         tagDto.setName("Test");
 
-        Tag tag = new Tag();
-
         Mockito.when(tagRepository.existsByName(tagDto.getName())).thenReturn(false);
-        Mockito.when(modelMapper.map(tagDto, Tag.class)).thenReturn(tag);
         Mockito.when(tagRepository.save(Mockito.any(Tag.class))).thenAnswer(i -> i.getArguments()[0]);
 
         tagService.createTag(tagDto);
 
         Mockito.verify(tagRepository, Mockito.times(1)).existsByName(tagDto.getName());
-        Mockito.verify(tagRepository, Mockito.times(1)).save(tag);
+        Mockito.verify(tagRepository, Mockito.times(1)).save(Mockito.argThat(tag -> tag.getName().equals("Test")));
     }
 
     @Test
     public void getTagForEditShouldCallFindByIdMethodFromTagRepositoryAndReturnTagDtoWhenExists() {
         Tag tag = new Tag();
+        tag.setName("Test");
 
         Mockito.when(tagRepository.findById(1L)).thenReturn(Optional.of(tag));
-        Mockito.when(modelMapper.map(tag, TagDto.class)).thenReturn(new TagDto());
 
         TagDto tagDto = tagService.getTagForEdit(1);
 
-        Assertions.assertNotNull(tagDto);
+        Assertions.assertEquals("Test", tagDto.getName());
         Mockito.verify(tagRepository, Mockito.times(1)).findById(1L);
     }
 
@@ -205,6 +216,10 @@ class TagServiceTest {
     public void deleteTagShouldDeleteTagById() {
         tagService.deleteTag(1);
 
+        Mockito.verify(postRepository, Mockito.times(1)).decrementTagsCountByTagId(1L);
+        Mockito.verify(postRepository, Mockito.times(1)).deleteTagLinksByTagId(1L);
         Mockito.verify(tagRepository, Mockito.times(1)).deleteById(1L);
+        Mockito.verify(feedCountStore, Mockito.times(1)).evict(FeedCountStore.publishedPostsByTag(1));
+        Mockito.verify(pageCache, Mockito.times(1)).evict(PageCache.tag(1), PageCache.postLists());
     }
 }
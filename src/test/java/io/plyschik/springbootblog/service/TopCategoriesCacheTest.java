@@ -0,0 +1,44 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.dto.CategoryWithPostsCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+
+class TopCategoriesCacheTest {
+    private final TopCategoriesCache topCategoriesCache = new TopCategoriesCache(Duration.ofMinutes(5));
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void getShouldServeRepeatedLookupsFromCache() {
+        topCategoriesCache.get(() -> List.of(new CategoryWithPostsCount(1L, "Java", 3L)));
+        List<CategoryWithPostsCount> categories = topCategoriesCache.get(List::of);
+
+        Assertions.assertEquals(1, categories.size());
+        Assertions.assertEquals(1, topCategoriesCache.getHits());
+        Assertions.assertEquals(1, topCategoriesCache.getMisses());
+    }
+
+    @Test
+    public void invalidateShouldDropEntryAgainAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        topCategoriesCache.invalidate();
+        topCategoriesCache.get(() -> List.of(new CategoryWithPostsCount(1L, "Java", 3L)));
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertTrue(topCategoriesCache.get(List::of).isEmpty());
+        Assertions.assertEquals(2, topCategoriesCache.getMisses());
+    }
+}
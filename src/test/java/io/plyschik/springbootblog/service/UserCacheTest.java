@@ -0,0 +1,65 @@
+package io.plyschik.springbootblog.service;
+
+import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.security.UserPrincipal;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class UserCacheTest {
+    private final UserCache userCache = new UserCache(Duration.ofMinutes(10), 2);
+
+    @Test
+    public void getShouldServeRepeatedLookupsFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+
+        userCache.get("john@sbb.net", email -> {
+            loads.incrementAndGet();
+
+            return Optional.of(createPrincipal(1, email));
+        });
+        Optional<UserPrincipal> principal = userCache.get("john@sbb.net", email -> {
+            loads.incrementAndGet();
+
+            return Optional.empty();
+        });
+
+        Assertions.assertEquals(1L, principal.orElseThrow().getId());
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(1, userCache.getHits());
+        Assertions.assertEquals(1, userCache.getMisses());
+    }
+
+    @Test
+    public void getShouldNotCacheMissingUsers() {
+        userCache.get("john@sbb.net", email -> Optional.empty());
+
+        Assertions.assertTrue(userCache.get("john@sbb.net", email -> Optional.of(createPrincipal(1, email))).isPresent());
+    }
+
+    @Test
+    public void invalidateShouldDropEntryById() {
+        userCache.get("john@sbb.net", email -> Optional.of(createPrincipal(1, email)));
+
+        userCache.invalidate(1);
+
+        Assertions.assertFalse(userCache.get("john@sbb.net", email -> Optional.empty()).isPresent());
+    }
+
+    @Test
+    public void getShouldEvictLeastRecentlyUsedUsersWhenFull() {
+        userCache.get("first@sbb.net", email -> Optional.of(createPrincipal(1, email)));
+        userCache.get("second@sbb.net", email -> Optional.of(createPrincipal(2, email)));
+        userCache.get("third@sbb.net", email -> Optional.of(createPrincipal(3, email)));
+
+        Assertions.assertFalse(userCache.get("first@sbb.net", email -> Optional.empty()).isPresent());
+        Assertions.assertTrue(userCache.get("third@sbb.net", email -> Optional.empty()).isPresent());
+    }
+
+    private static UserPrincipal createPrincipal(long id, String email) {
+        return new UserPrincipal(id, email, "password", "John", "Doe", User.Role.USER, true);
+    }
+}
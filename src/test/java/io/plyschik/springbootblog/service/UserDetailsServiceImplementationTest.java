@@ -1,6 +1,7 @@
 package io.plyschik.springbootblog.service;
 
 import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.security.UserPrincipal;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,10 +12,6 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
-
 @ExtendWith(MockitoExtension.class)
 class UserDetailsServiceImplementationTest {
     @Mock
@@ -25,12 +22,17 @@ class UserDetailsServiceImplementationTest {
 
     @Test
     public void loadUserByUsernameShouldReturnUserDetailsObject() {
-        User user = new User();
-        user.setEmail("test@test.test");
-        user.setPassword("password");
-        user.setRole(User.Role.USER);
-
-        Mockito.when(userService.getUserByEmail("test@test.test")).thenReturn(user);
+        UserPrincipal principal = new UserPrincipal(
+            1,
+            "test@test.test",
+            "password",
+            "John",
+            "Doe",
+            User.Role.USER,
+            false
+        );
+
+        Mockito.when(userService.getPrincipalByEmail("test@test.test")).thenReturn(principal);
 
         UserDetails userDetails = userDetailsServiceImplementation.loadUserByUsername("test@test.test");
 
@@ -2,38 +2,42 @@ package io.plyschik.springbootblog.service;
 
 import io.plyschik.springbootblog.entity.Category;
 import io.plyschik.springbootblog.entity.User;
+import io.plyschik.springbootblog.entity.VerificationToken;
 import io.plyschik.springbootblog.exception.CategoryNotFoundException;
 import io.plyschik.springbootblog.exception.UserNotFoundException;
+import io.plyschik.springbootblog.mapper.UserMapper;
 import io.plyschik.springbootblog.repository.PasswordResetTokenRepository;
 import io.plyschik.springbootblog.repository.UserRepository;
 import io.plyschik.springbootblog.repository.VerificationTokenRepository;
+import io.plyschik.springbootblog.security.UserPrincipal;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Sort;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.thymeleaf.spring5.SpringTemplateEngine;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Optional;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceTest {
-    @Mock
-    private ModelMapper modelMapper;
+    @Spy
+    private UserMapper userMapper = new UserMapper();
 
-    @Mock
-    private SpringTemplateEngine templateEngine;
+    @Spy
+    private UserCache userCache = new UserCache(Duration.ofMinutes(10), 10);
 
     @Mock
-    private JavaMailSender mailSender;
+    private MailOutbox mailOutbox;
 
     @Mock
     private UserRepository userRepository;
@@ -94,6 +98,47 @@ class UserServiceTest {
         Mockito.verify(userRepository, Mockito.times(1)).findByEmail("test@test.test");
     }
 
+    @Test
+    public void getPrincipalByEmailShouldMapUserAndQueryRepositoryOnlyOnce() {
+        Mockito.when(userRepository.findByEmail("test@test.test")).thenReturn(Optional.of(createUser()));
+
+        userService.getPrincipalByEmail("test@test.test");
+        UserPrincipal principal = userService.getPrincipalByEmail("test@test.test");
+
+        Assertions.assertEquals(1L, principal.getId());
+        Assertions.assertEquals("test@test.test", principal.getUsername());
+        Assertions.assertEquals("password", principal.getPassword());
+        Assertions.assertTrue(principal.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_USER")));
+        Assertions.assertFalse(principal.isEnabled());
+        Mockito.verify(userRepository, Mockito.times(1)).findByEmail("test@test.test");
+    }
+
+    @Test
+    public void getPrincipalByEmailShouldNotLeakErasedCredentialsIntoCache() {
+        Mockito.when(userRepository.findByEmail("test@test.test")).thenReturn(Optional.of(createUser()));
+
+        userService.getPrincipalByEmail("test@test.test").eraseCredentials();
+
+        Assertions.assertEquals("password", userService.getPrincipalByEmail("test@test.test").getPassword());
+    }
+
+    @Test
+    public void processAccountActivationShouldInvalidateCachedPrincipal() {
+        User user = createUser();
+        VerificationToken verificationToken = new VerificationToken();
+        verificationToken.setToken("token");
+        verificationToken.setUser(user);
+        verificationToken.calculateExpiryDate();
+        Mockito.when(userRepository.findByEmail("test@test.test")).thenReturn(Optional.of(user));
+        Mockito.when(verificationTokenRepository.findByToken("token")).thenReturn(Optional.of(verificationToken));
+
+        Assertions.assertFalse(userService.getPrincipalByEmail("test@test.test").isEnabled());
+        userService.processAccountActivation("token");
+
+        Assertions.assertTrue(userService.getPrincipalByEmail("test@test.test").isEnabled());
+        Mockito.verify(userRepository, Mockito.times(2)).findByEmail("test@test.test");
+    }
+
     @Test
     public void getUsersWithPostsCountShouldReturnSortedUsersListWithPostsCount() {
         Mockito.when(userRepository.findAllWithPostsCount(Mockito.any(Sort.class))).thenReturn(new ArrayList<>());
@@ -113,4 +158,14 @@ class UserServiceTest {
 
         Mockito.verify(userRepository, Mockito.times(2)).existsByEmail("test@test.test");
     }
+
+    private static User createUser() {
+        User user = new User();
+        ReflectionTestUtils.setField(user, "id", 1L);
+        user.setEmail("test@test.test");
+        user.setPassword("password");
+        user.setRole(User.Role.USER);
+
+        return user;
+    }
 }